@@ -8,6 +8,11 @@ architectury {
     platformSetupLoomIde()
 }
 
+loom {
+    // Unit tests load task classes, which need the mods at test runtime as well
+    createRemapConfigurations(sourceSets.test.get())
+}
+
 dependencies {
     minecraft("com.mojang:minecraft:${property("minecraft_version")}")
     mappings(loom.officialMojangMappings())
@@ -23,4 +28,25 @@ dependencies {
     // Optional integrations (soft dependencies)
     // https://www.curseforge.com/minecraft/mc-mods/cobblemon-mega-showdown/files/
     modCompileOnly("curse.maven:cobblemon-mega-showdown-1189523:7274148")
-}
\ No newline at end of file
+
+    // Tests
+    "modTestImplementation"("dev.architectury:architectury-fabric:${property("architectury_version")}") { isTransitive = false }
+    "modTestImplementation"("com.cobblemon:fabric:${property("cobblemon_version")}") { isTransitive = false }
+    "modTestImplementation"("dev.ftb.mods:ftb-quests:${property("ftb_quests_version")}") { isTransitive = false }
+    "modTestImplementation"("dev.ftb.mods:ftb-teams:${property("ftb_teams_version")}") { isTransitive = false }
+    "modTestImplementation"("dev.ftb.mods:ftb-library:${property("ftb_lib_version")}") { isTransitive = false }
+    testImplementation("org.junit.jupiter:junit-jupiter:5.10.2")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+    testImplementation("org.mockito:mockito-core:5.12.0")
+}
+
+tasks.test {
+    useJUnitPlatform()
+}
+
+tasks.register<JavaExec>("commaListsBenchmark") {
+    group = "verification"
+    description = "Compares the comma list parser with the stream-based code it replaced"
+    classpath = sourceSets.test.get().runtimeClasspath
+    mainClass.set("cobblemonquestsextended.cobblemon_quests_extended.serialization.CommaListsBenchmark")
+}
@@ -1,9 +1,11 @@
 package cobblemonquestsextended.cobblemon_quests_extended;
 
 import cobblemonquestsextended.cobblemon_quests_extended.config.CobblemonQuestsConfig;
+import cobblemonquestsextended.cobblemon_quests_extended.engine.SpeciesTable;
 import cobblemonquestsextended.cobblemon_quests_extended.events.CobblemonQuestsEventHandler;
 import cobblemonquestsextended.cobblemon_quests_extended.integrations.megashowdown.MegaShowdownIntegration;
 import cobblemonquestsextended.cobblemon_quests_extended.logger.CobblemonQuestsLogger;
+import cobblemonquestsextended.cobblemon_quests_extended.net.CobblemonQuestsNetwork;
 import cobblemonquestsextended.cobblemon_quests_extended.registry.ActionRegistry;
 import cobblemonquestsextended.cobblemon_quests_extended.tasks.PokemonTaskTypes;
 import dev.architectury.platform.Platform;
@@ -27,8 +29,10 @@ public class CobblemonQuests {
 
         // Initialize core components
         ActionRegistry.init();
+        SpeciesTable.init();
         eventHandler = new CobblemonQuestsEventHandler().init();
         PokemonTaskTypes.init();
+        CobblemonQuestsNetwork.init();
 
         // Initialize client-side components (GuiProvider for dynamic field visibility)
         if (Platform.getEnv() == EnvType.CLIENT) {
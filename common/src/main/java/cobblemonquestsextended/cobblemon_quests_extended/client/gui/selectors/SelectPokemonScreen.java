@@ -1,6 +1,7 @@
 package cobblemonquestsextended.cobblemon_quests_extended.client.gui.selectors;
 
 import cobblemonquestsextended.cobblemon_quests_extended.client.config.ConfigPokemonType;
+import cobblemonquestsextended.cobblemon_quests_extended.engine.SpeciesTable;
 import cobblemonquestsextended.cobblemon_quests_extended.registry.PokemonListCategory;
 import dev.ftb.mods.ftblibrary.config.ConfigCallback;
 import dev.ftb.mods.ftblibrary.icon.Color4I;
@@ -137,31 +138,15 @@ public class SelectPokemonScreen extends AbstractSelectorScreen<String, PokemonL
         List<String> pokemon = new ArrayList<>();
 
         try {
-            // Try to access Cobblemon's species registry
-            // This uses reflection to avoid compile-time dependency issues
-            Class<?> pokemonSpeciesClass = Class.forName("com.cobblemon.mod.common.api.pokemon.PokemonSpecies");
-            Object instance = pokemonSpeciesClass.getField("INSTANCE").get(null);
-            java.lang.reflect.Method getSpeciesMethod = pokemonSpeciesClass.getMethod("getSpecies");
-            @SuppressWarnings("unchecked")
-            Iterable<?> species = (Iterable<?>) getSpeciesMethod.invoke(instance);
-
-            for (Object spec : species) {
-                try {
-                    java.lang.reflect.Method getNameMethod = spec.getClass().getMethod("getName");
-                    String name = (String) getNameMethod.invoke(spec);
-                    if (name != null && !name.isEmpty()) {
-                        // Normalize the name: lowercase, handle ResourceLocation format
-                        String normalized = normalizePokemonName(name);
-                        if (!normalized.isEmpty()) {
-                            pokemon.add(normalized);
-                        }
-                    }
-                } catch (Exception e) {
-                    // Skip this Pokemon if we can't get its name
+            for (String name : SpeciesTable.get().names()) {
+                // Normalize the name: lowercase, handle ResourceLocation format
+                String normalized = normalizePokemonName(name);
+                if (!normalized.isEmpty()) {
+                    pokemon.add(normalized);
                 }
             }
         } catch (Exception e) {
-            // Cobblemon not available or API changed - use fallback
+            // Species not loaded yet - use fallback
         }
 
         return pokemon;
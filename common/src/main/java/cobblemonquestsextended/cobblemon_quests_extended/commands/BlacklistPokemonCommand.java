@@ -1,7 +1,5 @@
 package cobblemonquestsextended.cobblemon_quests_extended.commands;
 
-import com.cobblemon.mod.common.api.pokemon.PokemonSpecies;
-import com.cobblemon.mod.common.pokemon.Species;
 import com.mojang.brigadier.arguments.StringArgumentType;
 import com.mojang.brigadier.tree.CommandNode;
 import net.minecraft.commands.CommandSourceStack;
@@ -10,6 +8,7 @@ import net.minecraft.commands.SharedSuggestionProvider;
 import net.minecraft.network.chat.Component;
 import cobblemonquestsextended.cobblemon_quests_extended.commands.suggestions.ListSuggestionProvider;
 import cobblemonquestsextended.cobblemon_quests_extended.config.CobblemonQuestsConfig;
+import cobblemonquestsextended.cobblemon_quests_extended.engine.SpeciesTable;
 
 import java.util.List;
 
@@ -22,7 +21,7 @@ public class BlacklistPokemonCommand {
                         .then(Commands.argument("pokemon", StringArgumentType.string())
                                 .suggests((context, builder) -> {
                                     if (StringArgumentType.getString(context, "action").equals("add")) {
-                                        return SharedSuggestionProvider.suggest(PokemonSpecies.getSpecies().stream().map(Species::getName).toList(), builder);
+                                        return SharedSuggestionProvider.suggest(SpeciesTable.get().names(), builder);
                                     } else if (StringArgumentType.getString(context, "action").equals("remove")) {
                                         return SharedSuggestionProvider.suggest(CobblemonQuestsConfig.ignoredPokemon, builder);
                                     }
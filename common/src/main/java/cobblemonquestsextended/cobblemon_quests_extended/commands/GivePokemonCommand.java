@@ -17,7 +17,9 @@ import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerPlayer;
 import cobblemonquestsextended.cobblemon_quests_extended.CobblemonQuests;
 import cobblemonquestsextended.cobblemon_quests_extended.commands.arguments.types.ActionListArgumentType;
+import cobblemonquestsextended.cobblemon_quests_extended.events.PokemonAction;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class GivePokemonCommand {
@@ -39,9 +41,11 @@ public class GivePokemonCommand {
         int amount = IntegerArgumentType.getInteger(context, "amount");
         PokemonProperties pokemonProperties = PokemonPropertiesArgumentType.Companion.getPokemonProperties(context, "properties");
         Pokemon pokemon = pokemonProperties.create();
+        List<PokemonAction> batch = new ArrayList<>(actionList.size());
         for (String action : actionList) {
-            CobblemonQuests.eventHandler.processTasksForTeam(pokemon, action, amount, player);
+            batch.add(new PokemonAction(pokemon, action, amount, player));
         }
+        CobblemonQuests.eventHandler.processBatch(batch);
         if (givePokemon) {
             PlayerPartyStore party = Cobblemon.INSTANCE.getStorage().getParty(player);
             party.add(pokemon);
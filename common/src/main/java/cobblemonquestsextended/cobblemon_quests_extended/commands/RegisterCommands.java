@@ -12,6 +12,7 @@ public class RegisterCommands {
                         .then(SuppressWarningsCommand.register())
                         .then(BlacklistPokemonCommand.register())
                         .then(GivePokemonCommand.register())
+                        .then(StatsCommand.register())
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package cobblemonquestsextended.cobblemon_quests_extended.commands;
+
+import com.mojang.brigadier.tree.CommandNode;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.network.chat.Component;
+import cobblemonquestsextended.cobblemon_quests_extended.CobblemonQuests;
+import cobblemonquestsextended.cobblemon_quests_extended.engine.DedupWindow;
+
+public class StatsCommand {
+    public static CommandNode<CommandSourceStack> register() {
+        return Commands.literal("stats")
+                .executes(context -> {
+                    DedupWindow recentActions = CobblemonQuests.eventHandler.getRecentActions();
+                    long lookups = recentActions.lookups();
+                    long hits = recentActions.hits();
+                    String hitRate = lookups == 0 ? "n/a" : String.format("%.1f%%", hits * 100.0 / lookups);
+                    context.getSource().sendSystemMessage(Component.literal("Duplicate event checks: " + lookups + ", duplicates dropped: " + hits + " (hit rate " + hitRate + ")"));
+                    return 1;
+                })
+                .build();
+    }
+}
@@ -17,6 +17,8 @@ public class CobblemonQuestsConfig {
     public static double configVersion = 1.0;
     public static List<String> ignoredPokemon = new ArrayList<>();
     public static boolean suppressWarnings = false;
+    public static int asyncMatchingThreads = 0;
+    public static boolean columnarTaskStore = false;
 
     public static void init() {
         File configFile = configPath.toFile();
@@ -48,6 +50,12 @@ public class CobblemonQuestsConfig {
                     case "suppressWarnings":
                         suppressWarnings = Boolean.parseBoolean(value);
                         break;
+                    case "asyncMatchingThreads":
+                        asyncMatchingThreads = Math.max(0, Integer.parseInt(value));
+                        break;
+                    case "columnarTaskStore":
+                        columnarTaskStore = Boolean.parseBoolean(value);
+                        break;
                     case "ignoredPokemon":
                         ignoredPokemon = new ArrayList<>(List.of(Arrays.stream(value.split(",")).map(String::trim).toArray(String[]::new)));
                         break;
@@ -81,6 +89,8 @@ public class CobblemonQuestsConfig {
             defaultConfig.add("configVersion: " + configVersion);
             defaultConfig.add("ignoredPokemon: " + String.join(", ", ignoredPokemon));
             defaultConfig.add("suppressWarnings: " + suppressWarnings);
+            defaultConfig.add("asyncMatchingThreads: " + asyncMatchingThreads);
+            defaultConfig.add("columnarTaskStore: " + columnarTaskStore);
             Files.write(configPath, defaultConfig);
         } catch (Exception e) {
             LOGGER.warning("Failed to populate config file for Cobblemon Quests. " + e);
@@ -1,5 +1,7 @@
 package cobblemonquestsextended.cobblemon_quests_extended.domain;
 
+import cobblemonquestsextended.cobblemon_quests_extended.engine.Interner;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -94,7 +96,7 @@ public class CobblemonTaskModel {
             .build();
     }
 
-    // Apply to CobblemonTask
+    // Apply to CobblemonTask; lists are stored as shared immutable instances
     public void applyToTask(cobblemonquestsextended.cobblemon_quests_extended.tasks.CobblemonTask task) {
         task.amount = this.amount;
         task.shiny = this.shiny;
@@ -103,20 +105,20 @@ public class CobblemonTaskModel {
         task.minLevel = this.minLevel;
         task.maxLevel = this.maxLevel;
         task.dexProgress = this.dexProgress;
-        task.actions = new ArrayList<>(this.actions);
-        task.biomes = new ArrayList<>(this.biomes);
-        task.dimensions = new ArrayList<>(this.dimensions);
-        task.forms = new ArrayList<>(this.forms);
-        task.genders = new ArrayList<>(this.genders);
-        task.pokeBallsUsed = new ArrayList<>(this.pokeBallsUsed);
-        task.pokemons = new ArrayList<>(this.pokemons);
-        task.pokemonTypes = new ArrayList<>(this.pokemonTypes);
-        task.regions = new ArrayList<>(this.regions);
-        task.natures = new ArrayList<>(this.natures);
-        task.teraTypes = new ArrayList<>(this.teraTypes);
-        task.megaForms = new ArrayList<>(this.megaForms);
-        task.zCrystals = new ArrayList<>(this.zCrystals);
-        task.dynamaxTypes = new ArrayList<>(this.dynamaxTypes);
+        task.actions = Interner.internList(this.actions);
+        task.biomes = Interner.internList(this.biomes);
+        task.dimensions = Interner.internList(this.dimensions);
+        task.forms = Interner.internList(this.forms);
+        task.genders = Interner.internList(this.genders);
+        task.pokeBallsUsed = Interner.internList(this.pokeBallsUsed);
+        task.pokemons = Interner.internList(this.pokemons);
+        task.pokemonTypes = Interner.internList(this.pokemonTypes);
+        task.regions = Interner.internList(this.regions);
+        task.natures = Interner.internList(this.natures);
+        task.teraTypes = Interner.internList(this.teraTypes);
+        task.megaForms = Interner.internList(this.megaForms);
+        task.zCrystals = Interner.internList(this.zCrystals);
+        task.dynamaxTypes = Interner.internList(this.dynamaxTypes);
     }
 
     // Builder class with all fluent setters
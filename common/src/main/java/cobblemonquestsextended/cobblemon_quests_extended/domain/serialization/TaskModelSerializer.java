@@ -1,18 +1,20 @@
 package cobblemonquestsextended.cobblemon_quests_extended.domain.serialization;
 
 import cobblemonquestsextended.cobblemon_quests_extended.model.CobblemonTaskModel;
+import cobblemonquestsextended.cobblemon_quests_extended.serialization.NbtLists;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.Tag;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Serializes/deserializes CobblemonTaskModel to/from NBT.
- * Supports version migration for backward compatibility.
+ * Supports version migration for backward compatibility. Since v3, lists are stored as string
+ * {@code ListTag}s; older comma-joined lists are still read (see {@link NbtLists}).
  */
 public class TaskModelSerializer {
 
-    private static final int CURRENT_VERSION = 2;
+    private static final int CURRENT_VERSION = 3;
 
     /**
      * Serializes the model to NBT.
@@ -33,20 +35,20 @@ public class TaskModelSerializer {
         nbt.putString("dex_progress", model.getDexProgress());
 
         // Lists
-        nbt.putString("action", writeList(model.getActions()));
-        nbt.putString("biome", writeList(model.getBiomes()));
-        nbt.putString("dimension", writeList(model.getDimensions()));
-        nbt.putString("form", writeList(model.getForms()));
-        nbt.putString("gender", writeList(model.getGenders()));
-        nbt.putString("poke_ball_used", writeList(model.getPokeBallsUsed()));
-        nbt.putString("pokemon", writeList(model.getPokemons()));
-        nbt.putString("pokemon_type", writeList(model.getPokemonTypes()));
-        nbt.putString("region", writeList(model.getRegions()));
-        nbt.putString("natures", writeList(model.getNatures()));
-        nbt.putString("tera_type", writeList(model.getTeraTypes()));
-        nbt.putString("mega_form", writeList(model.getMegaForms()));
-        nbt.putString("z_crystal", writeList(model.getZCrystals()));
-        nbt.putString("dynamax_type", writeList(model.getDynamaxTypes()));
+        NbtLists.write(nbt, "action", model.getActions());
+        NbtLists.write(nbt, "biome", model.getBiomes());
+        NbtLists.write(nbt, "dimension", model.getDimensions());
+        NbtLists.write(nbt, "form", model.getForms());
+        NbtLists.write(nbt, "gender", model.getGenders());
+        NbtLists.write(nbt, "poke_ball_used", model.getPokeBallsUsed());
+        NbtLists.write(nbt, "pokemon", model.getPokemons());
+        NbtLists.write(nbt, "pokemon_type", model.getPokemonTypes());
+        NbtLists.write(nbt, "region", model.getRegions());
+        NbtLists.write(nbt, "natures", model.getNatures());
+        NbtLists.write(nbt, "tera_type", model.getTeraTypes());
+        NbtLists.write(nbt, "mega_form", model.getMegaForms());
+        NbtLists.write(nbt, "z_crystal", model.getZCrystals());
+        NbtLists.write(nbt, "dynamax_type", model.getDynamaxTypes());
 
         return nbt;
     }
@@ -70,20 +72,20 @@ public class TaskModelSerializer {
             .minLevel(nbt.getInt("min_level"))
             .maxLevel(nbt.getInt("max_level"))
             .dexProgress(nbt.getString("dex_progress"))
-            .actions(readList(nbt.getString("action")))
-            .biomes(readList(nbt.getString("biome")))
-            .dimensions(readList(nbt.getString("dimension")))
-            .forms(readList(nbt.getString("form")))
-            .genders(readList(nbt.getString("gender")))
-            .pokeBallsUsed(readList(nbt.getString("poke_ball_used")))
-            .pokemons(readList(nbt.getString("pokemon")))
-            .pokemonTypes(readList(nbt.getString("pokemon_type")))
-            .regions(readList(nbt.getString("region")))
-            .natures(readList(nbt.getString("natures")))
-            .teraTypes(readList(nbt.getString("tera_type")))
-            .megaForms(readList(nbt.getString("mega_form")))
-            .zCrystals(readList(nbt.getString("z_crystal")))
-            .dynamaxTypes(readList(nbt.getString("dynamax_type")))
+            .actions(NbtLists.read(nbt, "action"))
+            .biomes(NbtLists.read(nbt, "biome"))
+            .dimensions(NbtLists.read(nbt, "dimension"))
+            .forms(NbtLists.read(nbt, "form"))
+            .genders(NbtLists.read(nbt, "gender"))
+            .pokeBallsUsed(NbtLists.read(nbt, "poke_ball_used"))
+            .pokemons(NbtLists.read(nbt, "pokemon"))
+            .pokemonTypes(NbtLists.read(nbt, "pokemon_type"))
+            .regions(NbtLists.read(nbt, "region"))
+            .natures(NbtLists.read(nbt, "natures"))
+            .teraTypes(NbtLists.read(nbt, "tera_type"))
+            .megaForms(NbtLists.read(nbt, "mega_form"))
+            .zCrystals(NbtLists.read(nbt, "z_crystal"))
+            .dynamaxTypes(NbtLists.read(nbt, "dynamax_type"))
             .build();
     }
 
@@ -96,7 +98,7 @@ public class TaskModelSerializer {
         if (fromVersion < 2) {
             // v1 -> v2: Fix form naming (alola -> alolan, etc.)
             String forms = migrated.getString("form");
-            if (!forms.isEmpty()) {
+            if (migrated.getTagType("form") == Tag.TAG_STRING && !forms.isEmpty()) {
                 Map<String, String> replacements = Map.of(
                     "alola", "alolan",
                     "galar", "galarian",
@@ -116,7 +118,7 @@ public class TaskModelSerializer {
 
             // v1 -> v2: Handle legacy "entity" field
             if (nbt.contains("entity") && !nbt.contains("pokemon")) {
-                migrated.putString("pokemon", nbt.getString("entity"));
+                migrated.put("pokemon", nbt.get("entity").copy());
             }
 
             // v1 -> v2: Fix time defaults
@@ -138,21 +140,4 @@ public class TaskModelSerializer {
         migrated.putInt("version", CURRENT_VERSION);
         return migrated;
     }
-
-    private String writeList(List<String> list) {
-        return list.stream()
-            .filter(Objects::nonNull)
-            .collect(Collectors.joining(","));
-    }
-
-    private List<String> readList(String s) {
-        if (s == null || s.isEmpty()) {
-            return new ArrayList<>();
-        }
-        return Arrays.stream(s.split(","))
-            .map(String::trim)
-            .filter(obj -> !obj.isEmpty() && !obj.contains("choice_any"))
-            .distinct()
-            .collect(Collectors.toCollection(ArrayList::new));
-    }
 }
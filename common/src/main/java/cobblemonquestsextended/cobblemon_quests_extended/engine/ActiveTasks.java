@@ -0,0 +1,58 @@
+package cobblemonquestsextended.cobblemon_quests_extended.engine;
+
+import cobblemonquestsextended.cobblemon_quests_extended.tasks.CobblemonTask;
+
+import java.util.BitSet;
+
+/**
+ * Per-team record of the Cobblemon tasks that no longer need to be visited by events.
+ *
+ * <p>A task is retired once the team has completed it, so a team that finished hundreds of tasks
+ * skips each of them with a single bit test instead of a progress lookup and a dependency check.
+ * Tasks are tracked by their {@link TaskIndex#ordinal} in the index of the {@link TaskSnapshot}
+ * that owns this record, so the record is discarded together with its snapshot.</p>
+ *
+ * <p>Only accessed from the server thread.</p>
+ */
+public final class ActiveTasks {
+
+    private final TaskIndex index;
+    private final BitSet retired = new BitSet();
+
+    ActiveTasks(TaskIndex index) {
+        this.index = index;
+    }
+
+    /**
+     * @param task the task to check
+     * @return true if the task was retired for this team
+     */
+    public boolean isRetired(CobblemonTask task) {
+        int ordinal = index.ordinal(task);
+        return ordinal >= 0 && retired.get(ordinal);
+    }
+
+    /**
+     * Marks a task as completed by this team. Tasks outside the snapshot are ignored.
+     *
+     * @param task the completed task
+     */
+    public void retire(CobblemonTask task) {
+        int ordinal = index.ordinal(task);
+        if (ordinal >= 0) {
+            retired.set(ordinal);
+        }
+    }
+
+    /**
+     * Makes a task visible to events again, e.g. after its progress was reset.
+     *
+     * @param task the task to restore
+     */
+    public void restore(CobblemonTask task) {
+        int ordinal = index.ordinal(task);
+        if (ordinal >= 0) {
+            retired.clear(ordinal);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package cobblemonquestsextended.cobblemon_quests_extended.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inverted index over one filter field of the tasks in an action bucket.
+ *
+ * <p>Tasks are referred to by their position in the bucket. Every task ends up either in the
+ * postings of each value it filters on, or in the wildcard list when the field is left empty.
+ * A lookup returns the sorted positions of all tasks that accept the event's value, which is
+ * the union of the value's postings and the wildcard list.</p>
+ */
+final class AttributeIndex {
+
+    private static final int[] NONE = new int[0];
+
+    private final Map<String, int[]> postings;
+    private final int[] wildcard;
+
+    private AttributeIndex(Map<String, int[]> postings, int[] wildcard) {
+        this.postings = postings;
+        this.wildcard = wildcard;
+    }
+
+    /**
+     * Returns true if no task restricts this field, in which case lookups can be skipped.
+     */
+    boolean isUnrestricted() {
+        return postings.isEmpty();
+    }
+
+    /**
+     * Returns the sorted positions of the tasks accepting the given value.
+     */
+    int[] lookup(String key) {
+        int[] specific = key != null ? postings.get(key) : null;
+        if (specific == null) {
+            return wildcard;
+        }
+        return union(specific, wildcard);
+    }
+
+    /**
+     * Returns the sorted positions of the tasks accepting any of the given values.
+     */
+    int[] lookup(String[] keys) {
+        int[] result = wildcard;
+        for (String key : keys) {
+            int[] specific = postings.get(key);
+            if (specific != null) {
+                result = union(result, specific);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Intersects two sorted position arrays. A null argument stands for "every task".
+     */
+    static int[] intersect(int[] a, int[] b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    private static int[] union(int[] a, int[] b) {
+        if (a.length == 0) return b;
+        if (b.length == 0) return a;
+        int[] out = new int[a.length + b.length];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length || j < b.length) {
+            int next;
+            if (j >= b.length || (i < a.length && a[i] < b[j])) {
+                next = a[i++];
+            } else if (i >= a.length || b[j] < a[i]) {
+                next = b[j++];
+            } else {
+                next = a[i++];
+                j++;
+            }
+            out[n++] = next;
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    /**
+     * Collects the field values of each task in bucket order.
+     */
+    static final class Builder {
+        private final Map<String, List<Integer>> postings = new HashMap<>();
+        private final List<Integer> wildcard = new ArrayList<>();
+
+        /**
+         * Adds the task at the given position.
+         *
+         * @param position the task's position in its bucket
+         * @param filtered whether the task filters on this field at all
+         * @param keys     the values the task accepts; may be empty if none of its entries are usable
+         */
+        void add(int position, boolean filtered, Collection<String> keys) {
+            if (!filtered) {
+                wildcard.add(position);
+                return;
+            }
+            for (String key : keys) {
+                List<Integer> list = postings.computeIfAbsent(key, k -> new ArrayList<>());
+                // Duplicate values in one task would otherwise list it twice
+                if (list.isEmpty() || list.get(list.size() - 1) != position) {
+                    list.add(position);
+                }
+            }
+        }
+
+        AttributeIndex build() {
+            Map<String, int[]> frozen = new HashMap<>(postings.size() * 2);
+            for (Map.Entry<String, List<Integer>> entry : postings.entrySet()) {
+                frozen.put(entry.getKey(), toArray(entry.getValue()));
+            }
+            return new AttributeIndex(Map.copyOf(frozen), wildcard.isEmpty() ? NONE : toArray(wildcard));
+        }
+
+        private static int[] toArray(List<Integer> list) {
+            int[] array = new int[list.size()];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = list.get(i);
+            }
+            return array;
+        }
+    }
+}
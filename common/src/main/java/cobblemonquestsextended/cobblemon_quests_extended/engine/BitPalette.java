@@ -0,0 +1,96 @@
+package cobblemonquestsextended.cobblemon_quests_extended.engine;
+
+import cobblemonquestsextended.cobblemon_quests_extended.tasks.TaskData;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns a bit position to each value of a small, closed set so that set membership becomes a
+ * single AND on a {@code long}.
+ *
+ * <p>Palettes are seeded from the known values in {@link TaskData} and grow on demand for values
+ * added by datapacks or addons, up to 64 entries. Values that arrive after the palette is full get
+ * no bit; {@link #fits(Collection)} lets callers fall back to a set lookup for those. They are
+ * remembered as having no bit, so looking them up again does not take the lock.</p>
+ */
+public final class BitPalette {
+
+    public static final BitPalette TYPES = new BitPalette(TaskData.pokemonTypeList);
+    public static final BitPalette REGIONS = new BitPalette(TaskData.regionList);
+    public static final BitPalette NATURES = new BitPalette(List.of());
+
+    private static final int CAPACITY = Long.SIZE;
+    private static final int NO_BIT = -1;
+
+    // Maps values that arrived after the palette filled up to NO_BIT
+    private final Map<String, Integer> bits = new ConcurrentHashMap<>();
+    // Guarded by this
+    private int assigned;
+
+    private BitPalette(Collection<String> seed) {
+        for (String value : seed) {
+            if (!value.isEmpty()) {
+                assign(value);
+            }
+        }
+    }
+
+    /**
+     * Returns the single-bit mask for the given value, assigning a new bit if needed.
+     *
+     * @param value the value to look up
+     * @return the value's bit, or 0 if the value is null or the palette is full
+     */
+    public long bit(String value) {
+        if (value == null) {
+            return 0L;
+        }
+        Integer index = bits.get(value);
+        if (index == null) {
+            index = assign(value);
+        }
+        return index == NO_BIT ? 0L : 1L << index;
+    }
+
+    /**
+     * Returns the union of the bits of all given values.
+     *
+     * @param values the values to combine
+     * @return the combined mask
+     */
+    public long mask(Collection<String> values) {
+        long mask = 0L;
+        for (String value : values) {
+            mask |= bit(value);
+        }
+        return mask;
+    }
+
+    /**
+     * Checks whether every given value is represented by a bit in this palette.
+     *
+     * @param values the values to check
+     * @return true if {@link #mask(Collection)} covers all values
+     */
+    public boolean fits(Collection<String> values) {
+        for (String value : values) {
+            if (value != null && bit(value) == 0L) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private synchronized int assign(String value) {
+        Integer existing = bits.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        int index = assigned < CAPACITY ? assigned++ : NO_BIT;
+        bits.put(value, index);
+        return index;
+    }
+}
@@ -0,0 +1,145 @@
+package cobblemonquestsextended.cobblemon_quests_extended.engine;
+
+import cobblemonquestsextended.cobblemon_quests_extended.tasks.CobblemonTask;
+import cobblemonquestsextended.cobblemon_quests_extended.tasks.filter.TaskFilter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The distinct conditions of all Cobblemon tasks, shared between the tasks that use them.
+ *
+ * <p>Large quest packs repeat the same conditions ("in the overworld", "shiny", "fire type") across
+ * hundreds of tasks. Since compiled {@link TaskFilter}s are compared by value, every distinct
+ * condition becomes one node, and each task is a list of node ids in its filter order. An
+ * {@link Evaluation} remembers the result of each node for one event, so a condition is tested at
+ * most once per event no matter how many tasks depend on it.</p>
+ *
+ * <p>Built together with the {@link TaskIndex} of a {@link TaskSnapshot} and addressed by its
+ * ordinals. A task whose filters were recompiled after the network was built is evaluated with its
+ * own filters until the next snapshot.</p>
+ */
+public final class ConditionNetwork {
+
+    public static final ConditionNetwork EMPTY = new ConditionNetwork(TaskIndex.EMPTY, new TaskFilter[0], new int[0][], new TaskFilter[0][]);
+
+    private static final byte UNKNOWN = 0;
+    private static final byte PASSED = 1;
+    private static final byte FAILED = 2;
+
+    private final TaskIndex index;
+    private final TaskFilter[] nodes;
+    private final int[][] taskNodes;
+    private final TaskFilter[][] compiledFrom;
+
+    private ConditionNetwork(TaskIndex index, TaskFilter[] nodes, int[][] taskNodes, TaskFilter[][] compiledFrom) {
+        this.index = index;
+        this.nodes = nodes;
+        this.taskNodes = taskNodes;
+        this.compiledFrom = compiledFrom;
+    }
+
+    /**
+     * Builds the network over the given tasks.
+     *
+     * @param index the index the tasks' ordinals come from
+     * @param tasks all Cobblemon tasks of the quest file
+     * @return the new network
+     */
+    public static ConditionNetwork build(TaskIndex index, Collection<CobblemonTask> tasks) {
+        if (index.isEmpty()) {
+            return EMPTY;
+        }
+        Map<TaskFilter, Integer> ids = new HashMap<>();
+        List<TaskFilter> nodes = new ArrayList<>();
+        int[][] taskNodes = new int[index.size()][];
+        TaskFilter[][] compiledFrom = new TaskFilter[index.size()][];
+        for (CobblemonTask task : tasks) {
+            int ordinal = index.ordinal(task);
+            if (ordinal < 0 || compiledFrom[ordinal] != null) {
+                continue;
+            }
+            TaskFilter[] filters = task.getFilters();
+            int[] ordinals = new int[filters.length];
+            for (int i = 0; i < filters.length; i++) {
+                Integer id = ids.get(filters[i]);
+                if (id == null) {
+                    id = nodes.size();
+                    ids.put(filters[i], id);
+                    nodes.add(filters[i]);
+                }
+                ordinals[i] = id;
+            }
+            taskNodes[ordinal] = ordinals;
+            compiledFrom[ordinal] = filters;
+        }
+        return new ConditionNetwork(index, nodes.toArray(new TaskFilter[0]), taskNodes, compiledFrom);
+    }
+
+    /**
+     * Starts evaluating conditions for one event.
+     *
+     * @param facts the facts of the event
+     * @return an evaluation holding the per-event node results
+     */
+    public Evaluation begin(PokemonFacts facts) {
+        return new Evaluation(facts);
+    }
+
+    /**
+     * @return the number of distinct conditions across all tasks
+     */
+    public int size() {
+        return nodes.length;
+    }
+
+    /**
+     * The node results of a single event. Not thread-safe; each event gets its own.
+     */
+    public final class Evaluation {
+        private final PokemonFacts facts;
+        private final byte[] results = new byte[nodes.length];
+
+        private Evaluation(PokemonFacts facts) {
+            this.facts = facts;
+        }
+
+        /**
+         * @return the facts this evaluation tests
+         */
+        public PokemonFacts facts() {
+            return facts;
+        }
+
+        /**
+         * Tests all conditions of the given task, reusing results already computed for this event.
+         *
+         * @param task the task to test
+         * @return true if the event passes every condition of the task
+         */
+        public boolean passes(CobblemonTask task) {
+            TaskFilter[] filters = task.getFilters();
+            int ordinal = index.ordinal(task);
+            if (ordinal < 0 || compiledFrom[ordinal] != filters) {
+                for (TaskFilter filter : filters) {
+                    if (!filter.test(facts)) return false;
+                }
+                return true;
+            }
+            for (int node : taskNodes[ordinal]) {
+                byte result = results[node];
+                if (result == UNKNOWN) {
+                    result = nodes[node].test(facts) ? PASSED : FAILED;
+                    results[node] = result;
+                }
+                if (result == FAILED) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package cobblemonquestsextended.cobblemon_quests_extended.engine;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers, per player, which Pokemon recently triggered which kind of action, so the same
+ * Pokemon is not counted twice when Cobblemon fires overlapping events.
+ *
+ * <p>Each player owns a fixed ring of {@value #CAPACITY} slots and entries expire after
+ * {@value #WINDOW_MILLIS} ms, so memory and lookup cost stay constant regardless of player count
+ * or activity. The structure is lock-free; recording overwrites the oldest slot.</p>
+ */
+public final class DedupWindow {
+
+    /**
+     * Groups of actions that de-duplicate against each other.
+     */
+    public enum ActionClass {
+        /** A catch; suppresses the defeat event fired for the same Pokemon. */
+        CAPTURE,
+        /** A Pokedex scan; suppresses repeat scans of the same Pokemon. */
+        SCAN
+    }
+
+    private static final int CAPACITY = 16;
+    private static final long WINDOW_MILLIS = 60_000L;
+
+    private final Map<UUID, Ring> rings = new ConcurrentHashMap<>();
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * Records that the player triggered an action of the given class for a Pokemon.
+     *
+     * @param player      the player's UUID
+     * @param pokemon     the Pokemon's UUID
+     * @param actionClass the action class
+     */
+    public void record(UUID player, UUID pokemon, ActionClass actionClass) {
+        rings.computeIfAbsent(player, id -> new Ring()).add(new Entry(pokemon, actionClass, System.currentTimeMillis()));
+    }
+
+    /**
+     * Checks whether the player triggered an action of the given class for a Pokemon within the window.
+     *
+     * @param player      the player's UUID
+     * @param pokemon     the Pokemon's UUID
+     * @param actionClass the action class
+     * @return true if the action is a duplicate
+     */
+    public boolean contains(UUID player, UUID pokemon, ActionClass actionClass) {
+        lookups.increment();
+        Ring ring = rings.get(player);
+        if (ring == null || !ring.contains(pokemon, actionClass, System.currentTimeMillis() - WINDOW_MILLIS)) {
+            return false;
+        }
+        hits.increment();
+        return true;
+    }
+
+    /**
+     * Records the action unless it is already a duplicate.
+     *
+     * @param player      the player's UUID
+     * @param pokemon     the Pokemon's UUID
+     * @param actionClass the action class
+     * @return true if the action was new and has been recorded, false if it is a duplicate
+     */
+    public boolean tryRecord(UUID player, UUID pokemon, ActionClass actionClass) {
+        if (contains(player, pokemon, actionClass)) {
+            return false;
+        }
+        record(player, pokemon, actionClass);
+        return true;
+    }
+
+    /**
+     * Forgets everything recorded for a player, e.g. on logout.
+     *
+     * @param player the player's UUID
+     */
+    public void remove(UUID player) {
+        rings.remove(player);
+    }
+
+    /**
+     * @return the number of duplicate checks since startup
+     */
+    public long lookups() {
+        return lookups.sum();
+    }
+
+    /**
+     * @return the number of checks that found a duplicate
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    private record Entry(UUID pokemon, ActionClass actionClass, long time) {
+    }
+
+    private static final class Ring {
+        private final AtomicReferenceArray<Entry> slots = new AtomicReferenceArray<>(CAPACITY);
+        private final AtomicInteger cursor = new AtomicInteger();
+
+        void add(Entry entry) {
+            slots.set(cursor.getAndIncrement() & (CAPACITY - 1), entry);
+        }
+
+        boolean contains(UUID pokemon, ActionClass actionClass, long notBefore) {
+            for (int i = 0; i < CAPACITY; i++) {
+                Entry entry = slots.get(i);
+                if (entry != null && entry.time() >= notBefore
+                        && entry.actionClass() == actionClass && entry.pokemon().equals(pokemon)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package cobblemonquestsextended.cobblemon_quests_extended.engine;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Canonicalises the string keys used when matching events against tasks.
+ *
+ * <p>Keys derived from the same species, form or type share one instance, so equality checks
+ * against task values usually succeed on the identity fast path of {@link String#equals}.</p>
+ *
+ * <p>Open-ended values such as biome, dimension, ball and form ids can also be mapped to dense
+ * integer ids. Ids are stable for the lifetime of the server, so tasks can store them in sorted
+ * arrays and match with a binary search.</p>
+ *
+ * <p>Whole filter lists can be canonicalised too. Quest packs generated from templates repeat the
+ * same biome, dimension or type lists across thousands of tasks; those tasks then share a single
+ * immutable list.</p>
+ *
+ * <p>Only the list pool is weak: lists no task refers to any more are collected. Keys and ids are
+ * held strongly, because compiled filters keep ids without their keys, and a key that was collected
+ * and looked up again would get a different id. They are dropped by {@link #clear()} once the
+ * server has stopped, so values of deleted tasks and earlier worlds do not pile up.</p>
+ */
+public final class Interner {
+
+    /** Id returned for absent values; never assigned to a key. */
+    public static final int NO_ID = -1;
+
+    private static final Map<String, String> KEYS = new ConcurrentHashMap<>();
+    private static final Map<Object, Integer> IDS = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+    private static final Map<List<String>, WeakReference<List<String>>> LISTS = new WeakHashMap<>();
+
+    private Interner() {
+        // Utility class
+    }
+
+    /**
+     * Returns the canonical instance of the given key.
+     *
+     * @param key the key to intern; may be null
+     * @return the canonical instance, or null if the key was null
+     */
+    public static String intern(String key) {
+        if (key == null) {
+            return null;
+        }
+        String existing = KEYS.putIfAbsent(key, key);
+        return existing != null ? existing : key;
+    }
+
+    /**
+     * Returns the integer id of the given key, assigning a new one on first use.
+     *
+     * @param key the key to look up; may be null
+     * @return the key's id, or {@link #NO_ID} if the key was null
+     */
+    public static int id(Object key) {
+        if (key == null) {
+            return NO_ID;
+        }
+        Integer id = IDS.get(key);
+        return id != null ? id : IDS.computeIfAbsent(key, k -> NEXT_ID.getAndIncrement());
+    }
+
+    /**
+     * Returns the ids of the given keys as a sorted array without duplicates.
+     *
+     * @param keys the keys to look up; null entries are skipped
+     * @return the sorted ids, suitable for {@link Arrays#binarySearch(int[], int)}
+     */
+    public static int[] ids(Collection<?> keys) {
+        return keys.stream()
+                .filter(key -> key != null)
+                .mapToInt(Interner::id)
+                .sorted()
+                .distinct()
+                .toArray();
+    }
+
+    /**
+     * Forgets all interned keys and ids. Must only be called while nothing is matching, i.e. after
+     * the server has stopped.
+     *
+     * <p>Ids are never reused, so a filter compiled before the call, such as one of a client task
+     * still being shown, can no longer match but never matches a different value.</p>
+     */
+    public static void clear() {
+        KEYS.clear();
+        IDS.clear();
+    }
+
+    /**
+     * Returns the canonical immutable instance of a list with the given values. The values are
+     * interned as well, and every empty list maps to {@link List#of()}.
+     *
+     * <p>The result is shared between tasks and must not be modified; copy it before editing.</p>
+     *
+     * @param values the values in order; null entries are skipped
+     * @return the shared list
+     */
+    public static List<String> internList(Collection<String> values) {
+        if (values.isEmpty()) {
+            return List.of();
+        }
+        String[] array = new String[values.size()];
+        int size = 0;
+        for (String value : values) {
+            if (value != null) {
+                array[size++] = intern(value);
+            }
+        }
+        if (size == 0) {
+            return List.of();
+        }
+        List<String> list = List.of(size == array.length ? array : Arrays.copyOf(array, size));
+        synchronized (LISTS) {
+            WeakReference<List<String>> ref = LISTS.get(list);
+            List<String> existing = ref != null ? ref.get() : null;
+            if (existing != null) {
+                return existing;
+            }
+            LISTS.put(list, new WeakReference<>(list));
+            return list;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package cobblemonquestsextended.cobblemon_quests_extended.engine;
+
+import cobblemonquestsextended.cobblemon_quests_extended.CobblemonQuests;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Worker threads that match events against tasks off the server thread.
+ *
+ * <p>Each team is pinned to one single-threaded shard, chosen by its id, so the events of a team
+ * are matched in the order they were submitted. Workers only read immutable data (the
+ * {@link TaskSnapshot} index, compiled task filters and the {@link PokemonFacts} of the event) and
+ * write into a {@link RecordingSink}. Finished sinks are queued until the server thread collects
+ * them with {@link #drain(Consumer)} and applies them; results of one team keep their order.</p>
+ */
+public final class MatchingPool {
+
+    private final ExecutorService[] shards;
+    private final Queue<RecordingSink> results = new ConcurrentLinkedQueue<>();
+
+    /**
+     * @param threads the number of worker threads, at least 1
+     */
+    public MatchingPool(int threads) {
+        shards = new ExecutorService[Math.max(1, threads)];
+        for (int i = 0; i < shards.length; i++) {
+            String name = "Cobblemon Quests Matcher #" + i;
+            shards[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Matches an event for the given team on the team's shard.
+     *
+     * @param teamId the team the event belongs to
+     * @param match  the matching work; receives the sink to record progress changes into
+     * @return false if the pool has been shut down and the caller has to match the event itself
+     */
+    public boolean submit(UUID teamId, Consumer<ProgressSink> match) {
+        ExecutorService shard = shards[Math.floorMod(teamId.hashCode(), shards.length)];
+        try {
+            shard.execute(() -> {
+                RecordingSink sink = new RecordingSink();
+                try {
+                    match.accept(sink);
+                } catch (Exception e) {
+                    CobblemonQuests.LOGGER.warning("Error matching task progress " + Arrays.toString(e.getStackTrace()));
+                    return;
+                }
+                if (!sink.isEmpty()) {
+                    results.add(sink);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            // Submitted while shutting down
+            return false;
+        }
+    }
+
+    /**
+     * Hands every finished result to the given consumer, in completion order.
+     *
+     * @param apply receives each result; called on the calling thread
+     */
+    public void drain(Consumer<RecordingSink> apply) {
+        RecordingSink next;
+        while ((next = results.poll()) != null) {
+            apply.accept(next);
+        }
+    }
+
+    /**
+     * Stops accepting work and waits briefly for queued matches to finish, so their results can
+     * still be drained.
+     */
+    public void shutdown() {
+        for (ExecutorService shard : shards) {
+            shard.shutdown();
+        }
+        try {
+            for (ExecutorService shard : shards) {
+                if (!shard.awaitTermination(5, TimeUnit.SECONDS)) {
+                    shard.shutdownNow();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package cobblemonquestsextended.cobblemon_quests_extended.engine;
+
+import com.cobblemon.mod.common.pokemon.Gender;
+import com.cobblemon.mod.common.pokemon.Pokemon;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.Level;
+
+/**
+ * Immutable snapshot of everything tasks match against for a single event.
+ *
+ * <p>Built once per event by {@link cobblemonquestsextended.cobblemon_quests_extended.events.CobblemonQuestsEventHandler}
+ * and shared by every candidate task, so species, form, type and world lookups happen once per
+ * event instead of once per task. String keys are interned through {@link Interner}. The Pokemon
+ * half can be captured separately as {@link PokemonTraits}.</p>
+ *
+ * <p>Closed value sets (types, natures, regions) are also carried as {@link BitPalette} masks and
+ * open-ended ones (forms, aspects, balls, dimensions, biomes) as {@link Interner#id(Object)} ids, so
+ * compiled task filters match with a single AND or binary search.</p>
+ *
+ * @param pokemon   the Pokemon involved in the event
+ * @param player    the player who triggered the event
+ * @param species   the species key tasks compare against (e.g. "pikachu")
+ * @param ignored   whether the species is on the configured blacklist
+ * @param types     the lowercase elemental type names
+ * @param typeMask  the {@link BitPalette#TYPES} mask of the types
+ * @param gender    the Pokemon's gender
+ * @param nature    the nature display name key
+ * @param natureBit the {@link BitPalette#NATURES} bit of the nature
+ * @param region    the first species label, used as region (e.g. "gen1")
+ * @param regionBit the {@link BitPalette#REGIONS} bit of the region
+ * @param formId    the id of the lowercase form name
+ * @param aspectIds the ids of the Pokemon's aspects
+ * @param caughtBallId the id of the ball the Pokemon was caught in
+ * @param level     the Pokemon's level
+ * @param shiny     whether the Pokemon is shiny
+ * @param dimension the id of the player's dimension
+ * @param dimensionId the interned id of the dimension
+ * @param biomeId   the id of the biome at the player's position, or {@link Interner#NO_ID} if unregistered
+ * @param timeOfDay the world time within the 24000 tick day
+ */
+public record PokemonFacts(
+        Pokemon pokemon,
+        ServerPlayer player,
+        String species,
+        boolean ignored,
+        String[] types,
+        long typeMask,
+        Gender gender,
+        String nature,
+        long natureBit,
+        String region,
+        long regionBit,
+        int formId,
+        int[] aspectIds,
+        int caughtBallId,
+        int level,
+        boolean shiny,
+        ResourceLocation dimension,
+        int dimensionId,
+        int biomeId,
+        long timeOfDay
+) {
+    /**
+     * Collects the facts for a Pokemon event triggered by the given player.
+     *
+     * @param pokemon the Pokemon involved in the event
+     * @param player  the player who triggered the event
+     * @return the facts snapshot
+     */
+    public static PokemonFacts of(Pokemon pokemon, ServerPlayer player) {
+        return of(PokemonTraits.of(pokemon), player);
+    }
+
+    /**
+     * Combines previously captured Pokemon traits with the player's current location.
+     * Must be called on the server thread.
+     *
+     * @param traits the Pokemon traits captured when the event fired
+     * @param player the player who triggered the event
+     * @return the facts snapshot
+     */
+    public static PokemonFacts of(PokemonTraits traits, ServerPlayer player) {
+        Level world = player.level();
+        ResourceLocation dimension = world.dimension().location();
+        ResourceLocation biome = world.getBiome(player.blockPosition()).unwrapKey()
+                .map(ResourceKey::location)
+                .orElse(null);
+        return new PokemonFacts(
+                traits.pokemon(),
+                player,
+                traits.species().key(),
+                traits.ignored(),
+                traits.types(),
+                traits.typeMask(),
+                traits.gender(),
+                traits.nature(),
+                traits.natureBit(),
+                traits.species().region(),
+                traits.species().regionBit(),
+                traits.formId(),
+                traits.aspectIds(),
+                traits.caughtBallId(),
+                traits.level(),
+                traits.shiny(),
+                dimension,
+                Interner.id(dimension),
+                Interner.id(biome),
+                world.getDayTime() % 24000
+        );
+    }
+
+    /**
+     * @return the dimension id as matched by the task index
+     */
+    public String dimensionKey() {
+        return Interner.intern(dimension.toString());
+    }
+}
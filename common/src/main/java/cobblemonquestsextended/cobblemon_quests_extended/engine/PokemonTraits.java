@@ -0,0 +1,99 @@
+package cobblemonquestsextended.cobblemon_quests_extended.engine;
+
+import com.cobblemon.mod.common.api.types.ElementalType;
+import com.cobblemon.mod.common.pokemon.Gender;
+import com.cobblemon.mod.common.pokemon.Pokemon;
+import cobblemonquestsextended.cobblemon_quests_extended.config.CobblemonQuestsConfig;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The Pokemon half of {@link PokemonFacts}: everything tasks match against that depends only on
+ * the Pokemon itself.
+ *
+ * <p>Traits can be captured on any thread at the moment an event fires, for example on a battle
+ * thread while the Pokemon is mega evolved, and combined with the player's location later on the
+ * server thread.</p>
+ *
+ * @param pokemon      the Pokemon
+ * @param species      the species metadata
+ * @param ignored      whether the species is on the configured blacklist
+ * @param types        the lowercase elemental type names
+ * @param typeMask     the {@link BitPalette#TYPES} mask of the types
+ * @param gender       the Pokemon's gender
+ * @param nature       the nature display name key
+ * @param natureBit    the {@link BitPalette#NATURES} bit of the nature
+ * @param formId       the id of the lowercase form name
+ * @param aspectIds    the ids of the Pokemon's aspects
+ * @param caughtBallId the id of the ball the Pokemon was caught in
+ * @param level        the Pokemon's level
+ * @param shiny        whether the Pokemon is shiny
+ */
+public record PokemonTraits(
+        Pokemon pokemon,
+        SpeciesTable.Entry species,
+        boolean ignored,
+        String[] types,
+        long typeMask,
+        Gender gender,
+        String nature,
+        long natureBit,
+        int formId,
+        int[] aspectIds,
+        int caughtBallId,
+        int level,
+        boolean shiny
+) {
+    private static final int[] EMPTY_IDS = new int[0];
+
+    /**
+     * Captures the current traits of a Pokemon.
+     *
+     * @param pokemon the Pokemon
+     * @return the captured traits
+     */
+    public static PokemonTraits of(Pokemon pokemon) {
+        SpeciesTable.Entry species = SpeciesTable.of(pokemon.getSpecies());
+        String[] types = typeKeys(pokemon);
+        String nature = pokemon.getNature().getDisplayName();
+        return new PokemonTraits(
+                pokemon,
+                species,
+                CobblemonQuestsConfig.ignoredPokemon.contains(species.lowerKey()),
+                types,
+                BitPalette.TYPES.mask(Arrays.asList(types)),
+                pokemon.getGender(),
+                nature,
+                BitPalette.NATURES.bit(nature),
+                Interner.id(pokemon.getForm().getName().toLowerCase()),
+                aspectIds(pokemon),
+                Interner.id(pokemon.getCaughtBall().getName()),
+                pokemon.getLevel(),
+                pokemon.getShiny()
+        );
+    }
+
+    private static int[] aspectIds(Pokemon pokemon) {
+        Set<String> aspects = pokemon.getAspects();
+        if (aspects.isEmpty()) {
+            return EMPTY_IDS;
+        }
+        int[] ids = new int[aspects.size()];
+        int i = 0;
+        for (String aspect : aspects) {
+            ids[i++] = Interner.id(aspect);
+        }
+        return ids;
+    }
+
+    private static String[] typeKeys(Pokemon pokemon) {
+        List<String> keys = new ArrayList<>(2);
+        for (ElementalType type : pokemon.getTypes()) {
+            keys.add(Interner.intern(type.getName().toLowerCase()));
+        }
+        return keys.toArray(new String[0]);
+    }
+}
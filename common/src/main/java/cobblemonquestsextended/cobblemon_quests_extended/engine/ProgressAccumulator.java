@@ -0,0 +1,107 @@
+package cobblemonquestsextended.cobblemon_quests_extended.engine;
+
+import cobblemonquestsextended.cobblemon_quests_extended.tasks.CobblemonTask;
+import dev.ftb.mods.ftbquests.quest.TeamData;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * A {@link ProgressSink} that merges all changes to a {@code (team, task)} pair and writes them
+ * once per server tick.
+ *
+ * <p>Every progress write makes FTB Quests mark the team dirty and sync it to clients, so a storm of
+ * candy level-ups or a mass release would otherwise send one packet per event. Changes are folded
+ * into a single pending operation of the form {@code max(base, floor) + delta}, where {@code base}
+ * is either the current progress or the last {@link #set} value, so the result is the same as
+ * applying each change in order.</p>
+ *
+ * <p>Only accessed from the server thread.</p>
+ */
+public final class ProgressAccumulator implements ProgressSink {
+
+    private final Map<Key, Pending> pending = new LinkedHashMap<>();
+
+    @Override
+    public void add(TeamData teamData, CobblemonTask task, long delta) {
+        pending(teamData, task).delta += delta;
+    }
+
+    @Override
+    public void raiseTo(TeamData teamData, CobblemonTask task, long value) {
+        Pending entry = pending(teamData, task);
+        entry.floor = Math.max(entry.floor, value - entry.delta);
+    }
+
+    @Override
+    public void set(TeamData teamData, CobblemonTask task, long value) {
+        Pending entry = pending(teamData, task);
+        entry.replaced = true;
+        entry.base = value;
+        entry.floor = Long.MIN_VALUE;
+        entry.delta = 0L;
+    }
+
+    /**
+     * @return true if no changes are waiting to be written
+     */
+    public boolean isEmpty() {
+        return pending.isEmpty();
+    }
+
+    /**
+     * Writes every pending change to its team, in the order the pairs were first touched.
+     * Changes to tasks that no longer exist, because the quest file was edited since they were
+     * recorded, are dropped.
+     *
+     * @param exists whether a task is still part of the quest file
+     */
+    public void flush(Predicate<CobblemonTask> exists) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        // Writes can complete quests and fire events that feed back into this accumulator
+        List<Map.Entry<Key, Pending>> entries = new ArrayList<>(pending.entrySet());
+        pending.clear();
+        for (Map.Entry<Key, Pending> entry : entries) {
+            TeamData teamData = entry.getKey().teamData();
+            CobblemonTask task = entry.getKey().task();
+            if (!exists.test(task)) {
+                continue;
+            }
+            long current = teamData.getProgress(task);
+            long value = Math.min(Math.max(entry.getValue().apply(current), 0L), task.getMaxProgress());
+            if (value != current) {
+                teamData.setProgress(task, value);
+            }
+        }
+    }
+
+    /**
+     * Drops every pending change without writing it.
+     */
+    public void clear() {
+        pending.clear();
+    }
+
+    private Pending pending(TeamData teamData, CobblemonTask task) {
+        return pending.computeIfAbsent(new Key(teamData, task), k -> new Pending());
+    }
+
+    private record Key(TeamData teamData, CobblemonTask task) {
+    }
+
+    private static final class Pending {
+        private boolean replaced = false;
+        private long base = 0L;
+        private long floor = Long.MIN_VALUE;
+        private long delta = 0L;
+
+        long apply(long current) {
+            return Math.max(replaced ? base : current, floor) + delta;
+        }
+    }
+}
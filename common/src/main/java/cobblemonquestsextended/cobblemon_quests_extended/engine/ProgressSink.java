@@ -0,0 +1,40 @@
+package cobblemonquestsextended.cobblemon_quests_extended.engine;
+
+import cobblemonquestsextended.cobblemon_quests_extended.tasks.CobblemonTask;
+import dev.ftb.mods.ftbquests.quest.TeamData;
+
+/**
+ * Receives the progress changes produced by matching an event against a task.
+ *
+ * <p>Tasks never write to {@link TeamData} directly; the sink decides when and how the change is
+ * applied. Values are clamped to {@code [0, getMaxProgress()]} when they are applied.</p>
+ */
+public interface ProgressSink {
+
+    /**
+     * Adds to the task's progress.
+     *
+     * @param teamData the team making progress
+     * @param task     the task
+     * @param delta    the amount to add
+     */
+    void add(TeamData teamData, CobblemonTask task, long delta);
+
+    /**
+     * Raises the task's progress to the given value if it is currently lower.
+     *
+     * @param teamData the team making progress
+     * @param task     the task
+     * @param value    the minimum progress after the change
+     */
+    void raiseTo(TeamData teamData, CobblemonTask task, long value);
+
+    /**
+     * Replaces the task's progress.
+     *
+     * @param teamData the team making progress
+     * @param task     the task
+     * @param value    the new progress
+     */
+    void set(TeamData teamData, CobblemonTask task, long value);
+}
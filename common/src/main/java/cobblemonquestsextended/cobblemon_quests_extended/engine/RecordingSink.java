@@ -0,0 +1,69 @@
+package cobblemonquestsextended.cobblemon_quests_extended.engine;
+
+import cobblemonquestsextended.cobblemon_quests_extended.tasks.CobblemonTask;
+import dev.ftb.mods.ftbquests.quest.TeamData;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiPredicate;
+
+/**
+ * A {@link ProgressSink} that only records the changes it receives, so they can be computed on a
+ * worker thread and applied later on the server thread.
+ *
+ * <p>Owned by one thread at a time: filled by the worker that matched the event, then handed over
+ * through {@link MatchingPool} and replayed by the server thread.</p>
+ */
+public final class RecordingSink implements ProgressSink {
+
+    private final List<Change> changes = new ArrayList<>(4);
+
+    @Override
+    public void add(TeamData teamData, CobblemonTask task, long delta) {
+        changes.add(new Change(Kind.ADD, teamData, task, delta));
+    }
+
+    @Override
+    public void raiseTo(TeamData teamData, CobblemonTask task, long value) {
+        changes.add(new Change(Kind.RAISE_TO, teamData, task, value));
+    }
+
+    @Override
+    public void set(TeamData teamData, CobblemonTask task, long value) {
+        changes.add(new Change(Kind.SET, teamData, task, value));
+    }
+
+    /**
+     * @return true if nothing was recorded
+     */
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    /**
+     * Forwards the recorded changes, in order, to another sink.
+     *
+     * @param target the sink to apply the changes to
+     * @param accept decides per team and task whether the change still applies, e.g. because the
+     *               task was completed in the meantime
+     */
+    public void replay(ProgressSink target, BiPredicate<TeamData, CobblemonTask> accept) {
+        for (Change change : changes) {
+            if (!accept.test(change.teamData(), change.task())) {
+                continue;
+            }
+            switch (change.kind()) {
+                case ADD -> target.add(change.teamData(), change.task(), change.value());
+                case RAISE_TO -> target.raiseTo(change.teamData(), change.task(), change.value());
+                case SET -> target.set(change.teamData(), change.task(), change.value());
+            }
+        }
+    }
+
+    private enum Kind {
+        ADD, RAISE_TO, SET
+    }
+
+    private record Change(Kind kind, TeamData teamData, CobblemonTask task, long value) {
+    }
+}
@@ -0,0 +1,66 @@
+package cobblemonquestsextended.cobblemon_quests_extended.engine;
+
+import com.cobblemon.mod.common.api.pokedex.SpeciesDexRecord;
+import cobblemonquestsextended.cobblemon_quests_extended.tasks.CobblemonTask;
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The dex species of one player that satisfy each {@code have_registered} task.
+ *
+ * <p>A full scan of the player's dex fills the sets once; after that a dex change only re-tests
+ * the species whose record changed, and the task progress is simply the size of its set. The
+ * record is discarded when the player logs out or the quest file clears its cache, so the next
+ * update starts with a full scan again.</p>
+ *
+ * <p>Only accessed from the server thread.</p>
+ */
+public final class RegisteredSpecies {
+
+    private final Map<CobblemonTask, Set<ResourceLocation>> matched = new IdentityHashMap<>();
+
+    /**
+     * Re-tests every record of the dex against the given task.
+     *
+     * @param task    the have_registered task
+     * @param records the player's dex records
+     * @return the number of matching species
+     */
+    public int rescan(CobblemonTask task, Map<ResourceLocation, SpeciesDexRecord> records) {
+        Set<ResourceLocation> species = new HashSet<>();
+        for (Map.Entry<ResourceLocation, SpeciesDexRecord> entry : records.entrySet()) {
+            if (task.matchesDexRecord(entry.getKey(), entry.getValue())) {
+                species.add(entry.getKey());
+            }
+        }
+        matched.put(task, species);
+        return species.size();
+    }
+
+    /**
+     * Re-tests a single changed dex record against the given task. Falls back to a full scan if
+     * the task has not been scanned for this player yet.
+     *
+     * @param task      the have_registered task
+     * @param changed   the id of the species whose record changed
+     * @param records   the player's dex records
+     * @return the number of matching species
+     */
+    public int update(CobblemonTask task, ResourceLocation changed, Map<ResourceLocation, SpeciesDexRecord> records) {
+        Set<ResourceLocation> species = matched.get(task);
+        if (species == null) {
+            return rescan(task, records);
+        }
+        SpeciesDexRecord record = records.get(changed);
+        if (record != null && task.matchesDexRecord(changed, record)) {
+            species.add(changed);
+        } else {
+            species.remove(changed);
+        }
+        return species.size();
+    }
+}
@@ -0,0 +1,178 @@
+package cobblemonquestsextended.cobblemon_quests_extended.engine;
+
+import com.cobblemon.mod.common.api.Priority;
+import com.cobblemon.mod.common.api.pokemon.PokemonSpecies;
+import com.cobblemon.mod.common.api.types.ElementalType;
+import com.cobblemon.mod.common.pokemon.Species;
+import kotlin.Unit;
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Precomputed matching metadata for every loaded Cobblemon species.
+ *
+ * <p>Task matching needs the same derived values over and over: the region label, the lowercase
+ * type names, the species key. This table derives them once per species when Cobblemon finishes
+ * loading species data and again after every datapack reload, so hot paths read a field instead
+ * of walking labels and types per event.</p>
+ *
+ * <p>Entries are stored densely by ordinal and indexed by species id. A table is immutable; reloads
+ * swap in a new one.</p>
+ */
+public final class SpeciesTable {
+
+    private static volatile SpeciesTable current = null;
+
+    private final Entry[] entries;
+    private final Map<ResourceLocation, Entry> byId;
+    private final List<String> names;
+
+    private SpeciesTable(Entry[] entries, Map<ResourceLocation, Entry> byId, List<String> names) {
+        this.entries = entries;
+        this.byId = byId;
+        this.names = names;
+    }
+
+    /**
+     * Rebuilds the table whenever Cobblemon (re)loads its species.
+     */
+    public static void init() {
+        PokemonSpecies.INSTANCE.getObservable().subscribe(Priority.NORMAL, registry -> {
+            current = build(PokemonSpecies.getSpecies());
+            return Unit.INSTANCE;
+        });
+    }
+
+    /**
+     * @return the table for the currently loaded species
+     */
+    public static SpeciesTable get() {
+        SpeciesTable table = current;
+        if (table == null) {
+            // Species loaded before init() subscribed
+            table = build(PokemonSpecies.getSpecies());
+            current = table;
+        }
+        return table;
+    }
+
+    /**
+     * Returns the entry for the given species. Species unknown to the table, such as ones created
+     * after the last load, get a freshly computed entry.
+     *
+     * @param species the species to look up
+     * @return the entry, never null
+     */
+    public static Entry of(Species species) {
+        Entry entry = get().byId.get(species.getResourceIdentifier());
+        if (entry == null || entry.species() != species) {
+            return Entry.of(species, -1);
+        }
+        return entry;
+    }
+
+    /**
+     * @param id the species id (e.g. "cobblemon:pikachu")
+     * @return the entry, or null if no such species is loaded
+     */
+    public Entry byId(ResourceLocation id) {
+        return byId.get(id);
+    }
+
+    /**
+     * @param ordinal the dense ordinal of an entry
+     * @return the entry at that ordinal
+     */
+    public Entry byOrdinal(int ordinal) {
+        return entries[ordinal];
+    }
+
+    /**
+     * @return the number of species in the table
+     */
+    public int size() {
+        return entries.length;
+    }
+
+    /**
+     * @return the display names of all species, in load order
+     */
+    public List<String> names() {
+        return names;
+    }
+
+    private static SpeciesTable build(Collection<Species> species) {
+        Entry[] entries = new Entry[species.size()];
+        Map<ResourceLocation, Entry> byId = new HashMap<>(species.size() * 2);
+        List<String> names = new ArrayList<>(species.size());
+        int ordinal = 0;
+        for (Species s : species) {
+            if (ordinal == entries.length) {
+                break;
+            }
+            Entry entry = Entry.of(s, ordinal);
+            entries[ordinal++] = entry;
+            byId.put(entry.id(), entry);
+            names.add(s.getName());
+        }
+        if (ordinal < entries.length) {
+            entries = Arrays.copyOf(entries, ordinal);
+        }
+        return new SpeciesTable(entries, Map.copyOf(byId), List.copyOf(names));
+    }
+
+    /**
+     * Derived matching data for one species.
+     *
+     * @param species    the species
+     * @param ordinal    the dense ordinal in its table, or -1 if not part of one
+     * @param id         the species id
+     * @param key        the species key tasks compare against (e.g. "pikachu")
+     * @param lowerKey   the lowercase key, as stored in the blacklist
+     * @param region     the first label, used as region (e.g. "gen1"), or "" without labels
+     * @param regionBit  the {@link BitPalette#REGIONS} bit of the region
+     * @param types      the lowercase elemental type names of the base form
+     * @param typeMask   the {@link BitPalette#TYPES} mask of the types
+     */
+    public record Entry(
+            Species species,
+            int ordinal,
+            ResourceLocation id,
+            String key,
+            String lowerKey,
+            String region,
+            long regionBit,
+            String[] types,
+            long typeMask
+    ) {
+        static Entry of(Species species, int ordinal) {
+            ResourceLocation id = species.getResourceIdentifier();
+            String key = Interner.intern(species.toString());
+            Set<String> labels = species.getLabels();
+            // Species without labels have no region; an empty key never matches a region filter
+            String region = labels.isEmpty() ? "" : Interner.intern(labels.iterator().next());
+            List<String> types = new ArrayList<>(2);
+            for (ElementalType type : species.getTypes()) {
+                types.add(Interner.intern(type.getName().toLowerCase()));
+            }
+            return new Entry(
+                    species,
+                    ordinal,
+                    id,
+                    key,
+                    Interner.intern(key.toLowerCase()),
+                    region,
+                    region.isEmpty() ? 0L : BitPalette.REGIONS.bit(region),
+                    types.toArray(new String[0]),
+                    BitPalette.TYPES.mask(types)
+            );
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package cobblemonquestsextended.cobblemon_quests_extended.engine;
+
+import com.cobblemon.mod.common.pokemon.Gender;
+import cobblemonquestsextended.cobblemon_quests_extended.tasks.CobblemonTask;
+
+import java.util.List;
+
+/**
+ * Struct-of-arrays view of the primitive conditions of the tasks in an action bucket.
+ *
+ * <p>Each condition is a column parallel to the bucket's task array: gender, type, nature and
+ * region masks, the level range, and a bit set of tasks that require a shiny. {@link #match}
+ * scans the columns linearly without branching and produces one bit per task, packed into
+ * {@code long} words, so a pack with tens of thousands of tasks prunes them with a tight loop
+ * instead of walking each task's filter chain.</p>
+ *
+ * <p>The columns are a conservative prefilter: a condition that cannot be expressed as a mask
+ * (e.g. a palette that ran out of bits) is stored as "accept all", and every surviving task is
+ * still checked in full by its own filters.</p>
+ */
+final class TaskColumns {
+
+    private static final long ANY = -1L;
+
+    private final int size;
+    private final long[] genderMask;
+    private final long[] typeMask;
+    private final long[] natureMask;
+    private final long[] regionMask;
+    private final int[] minLevel;
+    private final int[] maxLevel;
+    private final long[] shinyRequired;
+
+    private TaskColumns(int size) {
+        this.size = size;
+        this.genderMask = new long[size];
+        this.typeMask = new long[size];
+        this.natureMask = new long[size];
+        this.regionMask = new long[size];
+        this.minLevel = new int[size];
+        this.maxLevel = new int[size];
+        this.shinyRequired = new long[words(size)];
+    }
+
+    /**
+     * Builds the columns for the given tasks, in the same order.
+     */
+    static TaskColumns build(CobblemonTask[] tasks) {
+        TaskColumns columns = new TaskColumns(tasks.length);
+        for (int i = 0; i < tasks.length; i++) {
+            CobblemonTask task = tasks[i];
+            columns.genderMask[i] = genderMask(task.genders);
+            columns.typeMask[i] = paletteMask(BitPalette.TYPES, task.pokemonTypes);
+            columns.natureMask[i] = paletteMask(BitPalette.NATURES, task.natures);
+            columns.regionMask[i] = paletteMask(BitPalette.REGIONS, task.regions);
+            columns.minLevel[i] = task.maxLevel != 0 ? task.minLevel : Integer.MIN_VALUE;
+            columns.maxLevel[i] = task.maxLevel != 0 ? task.maxLevel : Integer.MAX_VALUE;
+            if (task.shiny) {
+                columns.shinyRequired[i >>> 6] |= 1L << i;
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Returns one bit per task, set if the event passes all of the task's columnar conditions.
+     *
+     * @param facts the facts of the event
+     * @return the match words; bit {@code i % 64} of word {@code i / 64} is task {@code i}
+     */
+    long[] match(PokemonFacts facts) {
+        long gender = 1L << facts.gender().ordinal();
+        long types = facts.typeMask();
+        long nature = facts.natureBit();
+        long region = facts.regionBit();
+        int level = facts.level();
+        long[] words = new long[words(size)];
+        for (int w = 0; w < words.length; w++) {
+            int base = w << 6;
+            int end = Math.min(Long.SIZE, size - base);
+            long bits = 0L;
+            for (int b = 0; b < end; b++) {
+                int i = base + b;
+                // Non-short-circuit & and | keep the loop free of branches
+                boolean passes = accepts(genderMask[i], gender)
+                        & accepts(typeMask[i], types)
+                        & accepts(natureMask[i], nature)
+                        & accepts(regionMask[i], region)
+                        & level >= minLevel[i]
+                        & level <= maxLevel[i];
+                bits |= (passes ? 1L : 0L) << b;
+            }
+            words[w] = facts.shiny() ? bits : bits & ~shinyRequired[w];
+        }
+        return words;
+    }
+
+    private static boolean accepts(long mask, long bits) {
+        // Unrestricted columns also accept events whose value has no bit
+        return (mask & bits) != 0L | mask == ANY;
+    }
+
+    static boolean isSet(long[] words, int position) {
+        return (words[position >>> 6] & (1L << position)) != 0L;
+    }
+
+    private static int words(int size) {
+        return (size + Long.SIZE - 1) >>> 6;
+    }
+
+    private static long genderMask(List<String> genders) {
+        if (genders.isEmpty()) {
+            return ANY;
+        }
+        long mask = 0L;
+        for (Gender gender : Gender.values()) {
+            if (genders.contains(gender.toString().toLowerCase())) {
+                mask |= 1L << gender.ordinal();
+            }
+        }
+        return mask;
+    }
+
+    private static long paletteMask(BitPalette palette, List<String> values) {
+        // Values without a bit are left to the task's own filter
+        return values.isEmpty() || !palette.fits(values) ? ANY : palette.mask(values);
+    }
+}
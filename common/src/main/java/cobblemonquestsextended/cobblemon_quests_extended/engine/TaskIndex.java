@@ -0,0 +1,268 @@
+package cobblemonquestsextended.cobblemon_quests_extended.engine;
+
+import cobblemonquestsextended.cobblemon_quests_extended.registry.ActionRegistry;
+import cobblemonquestsextended.cobblemon_quests_extended.tasks.CobblemonTask;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable lookup from a fired action to the Cobblemon tasks that can match it.
+ *
+ * <p>Built once whenever the server quest file clears its cache, so that an event only
+ * visits tasks that can possibly match the action it fired. Action implications declared in the
+ * {@link ActionRegistry} (e.g. "catch" implies "obtain") are resolved up front: a task listing
+ * "obtain" is filed under every action implying it, so no alias resolution happens at event
+ * time.</p>
+ *
+ * <p>Within each action, tasks are further indexed by species, dimension, Pokemon type and
+ * {@link TimeBuckets time-of-day bucket}.
+ * {@link #candidates} intersects those indexes so that, for example, a "catch 5 Pikachu" task
+ * is never visited when a Zubat is caught.</p>
+ *
+ * <p>Optionally, each bucket also keeps a {@link TaskColumns} store of its primitive conditions,
+ * which prunes the candidates with a linear bit scan. This pays off for packs with many tasks per
+ * action that the inverted indexes cannot tell apart.</p>
+ *
+ * <p>Every indexed task also gets a dense ordinal, which per-team state such as
+ * {@link ActiveTasks} uses to track tasks in a bit set.</p>
+ *
+ * <p>The arrays returned by this class are shared and must not be modified.</p>
+ */
+public final class TaskIndex {
+
+    public static final TaskIndex EMPTY = new TaskIndex(Map.of(), Map.of());
+
+    private static final CobblemonTask[] NO_TASKS = new CobblemonTask[0];
+
+    private final Map<String, ActionBucket> buckets;
+    private final Map<CobblemonTask, Integer> ordinals;
+
+    private TaskIndex(Map<String, ActionBucket> buckets, Map<CobblemonTask, Integer> ordinals) {
+        this.buckets = buckets;
+        this.ordinals = ordinals;
+    }
+
+    /**
+     * Builds an index over the given tasks.
+     *
+     * @param tasks    all Cobblemon tasks of the quest file
+     * @param columnar whether to keep a {@link TaskColumns} store per action
+     * @return a new immutable index
+     */
+    public static TaskIndex build(Collection<CobblemonTask> tasks, boolean columnar) {
+        if (tasks.isEmpty()) {
+            return EMPTY;
+        }
+
+        Map<String, List<String>> implyingActions = implyingActions();
+        // Sets keep a task listed once per action even if it lists both "catch" and "obtain"
+        Map<String, Set<CobblemonTask>> tasksByAction = new HashMap<>();
+        Map<CobblemonTask, Integer> ordinals = new IdentityHashMap<>(tasks.size() * 2);
+        for (CobblemonTask task : tasks) {
+            ordinals.putIfAbsent(task, ordinals.size());
+            for (String action : task.actions) {
+                tasksByAction.computeIfAbsent(action, k -> new LinkedHashSet<>()).add(task);
+                for (String implying : implyingActions.getOrDefault(action, List.of())) {
+                    tasksByAction.computeIfAbsent(implying, k -> new LinkedHashSet<>()).add(task);
+                }
+            }
+        }
+
+        Map<String, ActionBucket> buckets = new HashMap<>(tasksByAction.size() * 2);
+        for (Map.Entry<String, Set<CobblemonTask>> entry : tasksByAction.entrySet()) {
+            buckets.put(entry.getKey(), ActionBucket.build(entry.getKey(), entry.getValue().toArray(NO_TASKS), columnar));
+        }
+        return new TaskIndex(Map.copyOf(buckets), ordinals);
+    }
+
+    /**
+     * Inverts the registry's implication closure: for each action, the actions that imply it.
+     */
+    private static Map<String, List<String>> implyingActions() {
+        Map<String, List<String>> implying = new HashMap<>();
+        for (String action : ActionRegistry.getAllActionIds()) {
+            for (String implied : ActionRegistry.getImpliedActions(action)) {
+                implying.computeIfAbsent(implied, k -> new ArrayList<>()).add(action);
+            }
+        }
+        return implying;
+    }
+
+    /**
+     * Returns every task that lists the given action, regardless of its other filters.
+     *
+     * @param action the fired action id
+     * @return the tasks listing the action, or an empty array if none
+     */
+    public CobblemonTask[] forAction(String action) {
+        ActionBucket bucket = buckets.get(action);
+        return bucket != null ? bucket.tasks : NO_TASKS;
+    }
+
+    /**
+     * Returns the tasks listing the given action whose species, dimension, type and time filters
+     * accept the event, further narrowed by the columnar store if there is one. The remaining
+     * filters still have to be checked by the task itself.
+     *
+     * @param action the fired action id
+     * @param facts  the facts of the event
+     * @return the candidate tasks in index order, or an empty array if none
+     */
+    public CobblemonTask[] candidates(String action, PokemonFacts facts) {
+        ActionBucket bucket = buckets.get(action);
+        if (bucket == null) {
+            return NO_TASKS;
+        }
+        return bucket.candidates(facts);
+    }
+
+    /**
+     * Tells whether a task is filed under an action only because it lists an action implied by it,
+     * e.g. an "obtain" task under "catch".
+     *
+     * @param action the fired action id
+     * @param task   a task returned for that action
+     * @return true if the task does not list the action itself
+     */
+    public boolean isImplied(String action, CobblemonTask task) {
+        ActionBucket bucket = buckets.get(action);
+        return bucket != null && bucket.implied.contains(task);
+    }
+
+    /**
+     * Returns the dense ordinal of the given task within this index.
+     *
+     * @param task the task to look up
+     * @return the ordinal, in {@code [0, size())}, or -1 if the task is not indexed
+     */
+    public int ordinal(CobblemonTask task) {
+        Integer ordinal = ordinals.get(task);
+        return ordinal != null ? ordinal : -1;
+    }
+
+    /**
+     * @return true if the quest file has no Cobblemon tasks
+     */
+    public boolean isEmpty() {
+        return ordinals.isEmpty();
+    }
+
+    /**
+     * @return the number of Cobblemon tasks covered by this index
+     */
+    public int size() {
+        return ordinals.size();
+    }
+
+    /**
+     * The tasks of one action together with their per-field inverted indexes.
+     */
+    private static final class ActionBucket {
+        private final CobblemonTask[] tasks;
+        private final Set<CobblemonTask> implied;
+        private final AttributeIndex bySpecies;
+        private final AttributeIndex byDimension;
+        private final AttributeIndex byType;
+        private final TimeBuckets byTime;
+        private final TaskColumns columns;
+
+        private ActionBucket(CobblemonTask[] tasks, Set<CobblemonTask> implied, AttributeIndex bySpecies, AttributeIndex byDimension,
+                             AttributeIndex byType, TimeBuckets byTime, TaskColumns columns) {
+            this.tasks = tasks;
+            this.implied = implied;
+            this.bySpecies = bySpecies;
+            this.byDimension = byDimension;
+            this.byType = byType;
+            this.byTime = byTime;
+            this.columns = columns;
+        }
+
+        static ActionBucket build(String action, CobblemonTask[] tasks, boolean columnar) {
+            Set<CobblemonTask> implied = Collections.newSetFromMap(new IdentityHashMap<>());
+            AttributeIndex.Builder species = new AttributeIndex.Builder();
+            AttributeIndex.Builder dimension = new AttributeIndex.Builder();
+            AttributeIndex.Builder type = new AttributeIndex.Builder();
+            for (int i = 0; i < tasks.length; i++) {
+                CobblemonTask task = tasks[i];
+                if (!task.actions.contains(action)) {
+                    implied.add(task);
+                }
+                species.add(i, !task.pokemons.isEmpty(), speciesKeys(task.pokemons));
+                dimension.add(i, !task.dimensions.isEmpty(), task.dimensions);
+                type.add(i, !task.pokemonTypes.isEmpty(), task.pokemonTypes);
+            }
+            return new ActionBucket(tasks, implied, species.build(), dimension.build(), type.build(), TimeBuckets.build(tasks),
+                    columnar ? TaskColumns.build(tasks) : null);
+        }
+
+        CobblemonTask[] candidates(PokemonFacts facts) {
+            int[] positions = null;
+            if (!bySpecies.isUnrestricted()) {
+                positions = bySpecies.lookup(facts.species());
+            }
+            if (!byDimension.isUnrestricted()) {
+                positions = AttributeIndex.intersect(positions, byDimension.lookup(facts.dimensionKey()));
+            }
+            if (!byType.isUnrestricted()) {
+                positions = AttributeIndex.intersect(positions, byType.lookup(facts.types()));
+            }
+            if (byTime != null) {
+                positions = AttributeIndex.intersect(positions, byTime.lookup(facts.timeOfDay()));
+            }
+            if (columns != null) {
+                return select(positions, columns.match(facts));
+            }
+            if (positions == null) {
+                return tasks;
+            }
+            CobblemonTask[] result = new CobblemonTask[positions.length];
+            for (int i = 0; i < positions.length; i++) {
+                result[i] = tasks[positions[i]];
+            }
+            return result;
+        }
+
+        private CobblemonTask[] select(int[] positions, long[] matched) {
+            List<CobblemonTask> result = new ArrayList<>();
+            if (positions != null) {
+                for (int position : positions) {
+                    if (TaskColumns.isSet(matched, position)) {
+                        result.add(tasks[position]);
+                    }
+                }
+            } else {
+                for (int w = 0; w < matched.length; w++) {
+                    long word = matched[w];
+                    while (word != 0L) {
+                        result.add(tasks[(w << 6) + Long.numberOfTrailingZeros(word)]);
+                        word &= word - 1;
+                    }
+                }
+            }
+            return result.toArray(NO_TASKS);
+        }
+
+        /**
+         * Extracts the species keys a task matches against, mirroring the path comparison
+         * in {@link CobblemonTask#increase}. Entries without a namespace never match.
+         */
+        private static List<String> speciesKeys(List<String> pokemons) {
+            List<String> keys = new ArrayList<>(pokemons.size());
+            for (String pokemon : pokemons) {
+                String[] parts = pokemon.split(":");
+                if (parts.length > 1) {
+                    keys.add(parts[1]);
+                }
+            }
+            return keys;
+        }
+    }
+}
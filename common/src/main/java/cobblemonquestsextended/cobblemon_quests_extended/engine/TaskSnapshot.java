@@ -0,0 +1,118 @@
+package cobblemonquestsextended.cobblemon_quests_extended.engine;
+
+import cobblemonquestsextended.cobblemon_quests_extended.config.CobblemonQuestsConfig;
+import cobblemonquestsextended.cobblemon_quests_extended.tasks.CobblemonTask;
+import dev.ftb.mods.ftbquests.quest.TeamData;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Everything event dispatch needs about the current quest file, published as one unit.
+ *
+ * <p>A snapshot is built eagerly whenever the server quest file clears its cache and swapped in
+ * atomically by {@link cobblemonquestsextended.cobblemon_quests_extended.events.CobblemonQuestsEventHandler}.
+ * An event reads the current snapshot once and uses it throughout, so it never sees the index of
+ * one file version together with team state of another, and never has to build anything itself.</p>
+ *
+ * <p>The {@link TaskIndex} and {@link ConditionNetwork} are immutable. Per-team {@link ActiveTasks} are created on demand and
+ * belong to the snapshot, since they are addressed by the ordinals of its index.</p>
+ */
+public final class TaskSnapshot {
+
+    public static final TaskSnapshot EMPTY = new TaskSnapshot(TaskIndex.EMPTY, ConditionNetwork.EMPTY);
+
+    private final TaskIndex index;
+    private final ConditionNetwork conditions;
+    private final Map<UUID, ActiveTasks> activeTasks = new ConcurrentHashMap<>();
+
+    private TaskSnapshot(TaskIndex index, ConditionNetwork conditions) {
+        this.index = index;
+        this.conditions = conditions;
+    }
+
+    /**
+     * Builds a snapshot over the given tasks.
+     *
+     * @param tasks all Cobblemon tasks of the quest file
+     * @return the new snapshot
+     */
+    public static TaskSnapshot build(Collection<CobblemonTask> tasks) {
+        if (tasks.isEmpty()) {
+            return EMPTY;
+        }
+        TaskIndex index = TaskIndex.build(tasks, CobblemonQuestsConfig.columnarTaskStore);
+        return new TaskSnapshot(index, ConditionNetwork.build(index, tasks));
+    }
+
+    /**
+     * @return the task index of this snapshot
+     */
+    public TaskIndex index() {
+        return index;
+    }
+
+    /**
+     * @return the shared condition network of this snapshot's tasks
+     */
+    public ConditionNetwork conditions() {
+        return conditions;
+    }
+
+    /**
+     * Matches one action of an event against the candidate tasks of this snapshot.
+     *
+     * <p>Actions fired together for the same Pokemon can reach a task through more than one
+     * implication: an evolution fires "evolve_into" and "catch", and both imply "obtain". Passing
+     * the same {@code credited} map for all of them credits such a task once. A task that lists
+     * several of the fired actions itself still counts each of them.</p>
+     *
+     * @param teamData the team making progress
+     * @param facts    the facts of the event
+     * @param action   the fired action id
+     * @param amount   the amount, or the target level for "level_up_to"
+     * @param active   tests whether a task can still make progress for the team
+     * @param credited tasks credited so far for the same Pokemon, mapped to whether every credit came from
+     *                 an action they list; null if the action was fired alone
+     * @param sink     receives the progress changes
+     */
+    public void match(TeamData teamData, PokemonFacts facts, String action, long amount, Predicate<CobblemonTask> active,
+                      Map<CobblemonTask, Boolean> credited, ProgressSink sink) {
+        // Shared conditions are tested once for this event, however many candidates use them
+        ConditionNetwork.Evaluation evaluation = conditions.begin(facts);
+        for (CobblemonTask task : index.candidates(action, facts)) {
+            if (!active.test(task)) continue;
+            if (credited == null) {
+                task.increase(teamData, evaluation, action, amount, sink);
+                continue;
+            }
+            boolean implied = index.isImplied(action, task);
+            Boolean listed = credited.get(task);
+            if (listed != null && (implied || !listed)) continue;
+            if (task.increase(teamData, evaluation, action, amount, sink)) {
+                credited.merge(task, !implied, Boolean::logicalAnd);
+            }
+        }
+    }
+
+    /**
+     * Returns the active task record of a team, creating it if needed.
+     *
+     * @param teamId the team's id
+     * @return the team's record
+     */
+    public ActiveTasks activeTasks(UUID teamId) {
+        return activeTasks.computeIfAbsent(teamId, id -> new ActiveTasks(index));
+    }
+
+    /**
+     * @param teamId the team's id
+     * @return the team's record, or null if no event has touched the team yet
+     */
+    public ActiveTasks activeTasksIfPresent(UUID teamId) {
+        return activeTasks.get(teamId);
+    }
+}
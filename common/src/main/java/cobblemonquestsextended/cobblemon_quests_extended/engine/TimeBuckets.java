@@ -0,0 +1,124 @@
+package cobblemonquestsextended.cobblemon_quests_extended.engine;
+
+import cobblemonquestsextended.cobblemon_quests_extended.tasks.CobblemonTask;
+
+import java.util.Arrays;
+
+/**
+ * Splits the 24000-tick day into {@value #COUNT} buckets of {@value #WIDTH} ticks.
+ *
+ * <p>A time window ({@code timeMin}/{@code timeMax}, wrapping past midnight when
+ * {@code timeMin > timeMax}) is described by two 24-bit masks: the buckets it overlaps and the
+ * buckets it covers completely. Inside a fully covered bucket the window check is a single bit
+ * test; only the one or two buckets holding the window's edges still compare ticks.</p>
+ *
+ * <p>An instance indexes the time-restricted tasks of an action bucket by the day buckets they
+ * overlap, so tasks outside their window never become candidates.</p>
+ */
+public final class TimeBuckets {
+
+    public static final int COUNT = 24;
+    public static final int WIDTH = 1000;
+    public static final int DAY = COUNT * WIDTH;
+
+    private final int[][] positions;
+
+    private TimeBuckets(int[][] positions) {
+        this.positions = positions;
+    }
+
+    /**
+     * Builds the index for the tasks of an action bucket.
+     *
+     * @param tasks the tasks, by bucket position
+     * @return the index, or null if no task restricts the time of day
+     */
+    static TimeBuckets build(CobblemonTask[] tasks) {
+        int[][] positions = new int[COUNT][tasks.length];
+        int[] sizes = new int[COUNT];
+        boolean restricted = false;
+        for (int i = 0; i < tasks.length; i++) {
+            CobblemonTask task = tasks[i];
+            int overlap = isRestricted(task.timeMin, task.timeMax) ? overlapMask(task.timeMin, task.timeMax) : -1;
+            restricted |= overlap != -1;
+            for (int bucket = 0; bucket < COUNT; bucket++) {
+                if ((overlap & (1 << bucket)) != 0) {
+                    positions[bucket][sizes[bucket]++] = i;
+                }
+            }
+        }
+        if (!restricted) {
+            return null;
+        }
+        for (int bucket = 0; bucket < COUNT; bucket++) {
+            positions[bucket] = Arrays.copyOf(positions[bucket], sizes[bucket]);
+        }
+        return new TimeBuckets(positions);
+    }
+
+    /**
+     * @param timeOfDay the time of day of the event
+     * @return the sorted positions of the tasks whose window overlaps the event's bucket,
+     * including every task without a time restriction
+     */
+    int[] lookup(long timeOfDay) {
+        return positions[bucket(timeOfDay)];
+    }
+
+    /**
+     * @param timeMin the task's window start
+     * @param timeMax the task's window end
+     * @return true unless the window is the whole day
+     */
+    public static boolean isRestricted(long timeMin, long timeMax) {
+        return !(timeMin == 0 && timeMax == DAY);
+    }
+
+    /**
+     * @param timeOfDay a time of day
+     * @return the bucket the time falls into
+     */
+    public static int bucket(long timeOfDay) {
+        return (int) (Math.floorMod(timeOfDay, (long) DAY) / WIDTH);
+    }
+
+    /**
+     * @return the mask of the buckets containing at least one tick of the window
+     */
+    public static int overlapMask(long timeMin, long timeMax) {
+        int mask = 0;
+        for (int bucket = 0; bucket < COUNT; bucket++) {
+            if (ticksIn(bucket, timeMin, timeMax) > 0) {
+                mask |= 1 << bucket;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * @return the mask of the buckets lying entirely inside the window
+     */
+    public static int fullMask(long timeMin, long timeMax) {
+        int mask = 0;
+        for (int bucket = 0; bucket < COUNT; bucket++) {
+            if (ticksIn(bucket, timeMin, timeMax) == WIDTH) {
+                mask |= 1 << bucket;
+            }
+        }
+        return mask;
+    }
+
+    private static long ticksIn(int bucket, long timeMin, long timeMax) {
+        long start = (long) bucket * WIDTH;
+        long end = start + WIDTH;
+        if (timeMin > timeMax) {
+            // Wraps past midnight: [timeMin, DAY) and [0, timeMax)
+            return overlap(start, end, timeMin, DAY) + overlap(start, end, 0, timeMax);
+        }
+        return overlap(start, end, timeMin, timeMax);
+    }
+
+    private static long overlap(long start, long end, long from, long to) {
+        return Math.max(0L, Math.min(end, to) - Math.max(start, from));
+    }
+}
@@ -20,20 +20,24 @@ import com.cobblemon.mod.common.api.events.pokemon.evolution.EvolutionCompleteEv
 import com.cobblemon.mod.common.api.events.starter.StarterChosenEvent;
 import com.cobblemon.mod.common.api.events.storage.ReleasePokemonEvent;
 import com.cobblemon.mod.common.api.pokedex.PokedexEntryProgress;
-import com.cobblemon.mod.common.api.pokedex.PokedexManager;
+import com.cobblemon.mod.common.api.pokedex.SpeciesDexRecord;
 import com.cobblemon.mod.common.battles.pokemon.BattlePokemon;
 import com.cobblemon.mod.common.entity.pokemon.PokemonEntity;
 import com.cobblemon.mod.common.pokemon.Pokemon;
 import dev.architectury.event.EventResult;
 import dev.architectury.event.events.common.EntityEvent;
+import dev.architectury.event.events.common.LifecycleEvent;
 import dev.architectury.event.events.common.PlayerEvent;
+import dev.architectury.event.events.common.TickEvent;
 import dev.architectury.hooks.level.entity.PlayerHooks;
 import dev.ftb.mods.ftbquests.api.QuestFile;
 import dev.ftb.mods.ftbquests.events.ClearFileCacheEvent;
 import dev.ftb.mods.ftbquests.quest.ServerQuestFile;
 import dev.ftb.mods.ftbquests.quest.TeamData;
 import dev.ftb.mods.ftbteams.api.Team;
+import dev.ftb.mods.ftbteams.api.event.TeamEvent;
 import dev.ftb.mods.ftbteams.data.TeamManagerImpl;
+import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.damagesource.DamageSource;
 import net.minecraft.world.entity.Entity;
@@ -41,13 +45,35 @@ import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.level.Level;
 import cobblemonquestsextended.cobblemon_quests_extended.CobblemonQuests;
+import cobblemonquestsextended.cobblemon_quests_extended.config.CobblemonQuestsConfig;
+import cobblemonquestsextended.cobblemon_quests_extended.engine.ActiveTasks;
+import cobblemonquestsextended.cobblemon_quests_extended.engine.DedupWindow;
+import cobblemonquestsextended.cobblemon_quests_extended.engine.Interner;
+import cobblemonquestsextended.cobblemon_quests_extended.engine.MatchingPool;
+import cobblemonquestsextended.cobblemon_quests_extended.engine.PokemonFacts;
+import cobblemonquestsextended.cobblemon_quests_extended.engine.PokemonTraits;
+import cobblemonquestsextended.cobblemon_quests_extended.engine.ProgressAccumulator;
+import cobblemonquestsextended.cobblemon_quests_extended.engine.ProgressSink;
+import cobblemonquestsextended.cobblemon_quests_extended.engine.RegisteredSpecies;
+import cobblemonquestsextended.cobblemon_quests_extended.engine.TaskSnapshot;
 import cobblemonquestsextended.cobblemon_quests_extended.tasks.CobblemonTask;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 public class CobblemonQuestsEventHandler {
-    private HashSet<CobblemonTask> pokemonTasks = null;
-    private UUID lastPokemonUuid = null;
+    private final AtomicReference<TaskSnapshot> snapshot = new AtomicReference<>(TaskSnapshot.EMPTY);
+    private final Map<UUID, TeamData> teamDataByPlayer = new ConcurrentHashMap<>();
+    private final Map<UUID, RegisteredSpecies> registeredSpecies = new ConcurrentHashMap<>();
+    private final ProgressAccumulator progress = new ProgressAccumulator();
+    private final LevelUpCoalescer levelUps = new LevelUpCoalescer();
+    private final DedupWindow recentActions = new DedupWindow();
+    private final Queue<DeferredAction> battleActions = new ConcurrentLinkedQueue<>();
+    // Only set while a server runs with asyncMatchingThreads > 0; events read it from any thread
+    private volatile MatchingPool matchingPool = null;
 
     public CobblemonQuestsEventHandler init() {
         EntityEvent.LIVING_DEATH.register(this::entityKill);
@@ -67,6 +93,35 @@ public class CobblemonQuestsEventHandler {
         CobblemonEvents.POKEDEX_DATA_CHANGED_PRE.subscribe(Priority.LOWEST, this::pokeDexChanged);
         CobblemonEvents.THROWN_POKEBALL_HIT.subscribe(Priority.LOWEST, this::pokeballHit);
         PlayerEvent.PLAYER_JOIN.register((this::playerJoin));
+        PlayerEvent.PLAYER_QUIT.register(this::playerQuit);
+        // Progress from all events of a tick is written once, at the end of the tick
+        TickEvent.SERVER_POST.register(server -> endOfTick());
+        LifecycleEvent.SERVER_STARTED.register(server -> {
+            if (ServerQuestFile.INSTANCE != null) publishSnapshot(ServerQuestFile.INSTANCE);
+            if (CobblemonQuestsConfig.asyncMatchingThreads > 0) {
+                matchingPool = new MatchingPool(CobblemonQuestsConfig.asyncMatchingThreads);
+            }
+        });
+        LifecycleEvent.SERVER_STOPPING.register(server -> {
+            MatchingPool pool = matchingPool;
+            // Anything submitted from here on is matched synchronously
+            matchingPool = null;
+            if (pool != null) {
+                // Lets queued matches finish so their progress is still written below
+                pool.shutdown();
+                applyMatches(pool);
+            }
+            endOfTick();
+        });
+        LifecycleEvent.SERVER_STOPPED.register(server -> {
+            snapshot.set(TaskSnapshot.EMPTY);
+            // The tasks are gone, so their keys and ids need not outlive the world
+            Interner.clear();
+        });
+        // Party changes move players between teams; they are rare, so the whole cache is dropped
+        TeamEvent.PLAYER_JOINED_PARTY.register(event -> teamDataByPlayer.clear());
+        TeamEvent.PLAYER_LEFT_PARTY.register(event -> teamDataByPlayer.clear());
+        TeamEvent.DELETED.register(event -> teamDataByPlayer.clear());
         // New battle instruction events (Cobblemon 1.7.0+)
         CobblemonEvents.MEGA_EVOLUTION.subscribe(Priority.LOWEST, this::megaEvolution);
         CobblemonEvents.TERASTALLIZATION.subscribe(Priority.LOWEST, this::terastallization);
@@ -78,13 +133,30 @@ public class CobblemonQuestsEventHandler {
         return this;
     }
 
-    private void triggerPokeDexUpdate(UUID playerUUID) {
+    /**
+     * Updates the have_registered tasks from the player's dex.
+     *
+     * @param playerUUID     the owner of the dex
+     * @param changedSpecies the species whose record changed, or null to rescan the whole dex
+     */
+    private void triggerPokeDexUpdate(UUID playerUUID, ResourceLocation changedSpecies) {
         try {
-            TeamData teamData = getTeamData(playerUUID);
+            TaskSnapshot current = snapshot.get();
+            TeamData teamData = getTeamData(current, playerUUID);
             if (teamData == null) return;
-            PokedexManager pokedexManager = Cobblemon.playerDataManager.getPokedexData(playerUUID);
-            for (CobblemonTask task : pokemonTasks) {
-                task.increaseHaveRegistered(teamData, pokedexManager);
+            CobblemonTask[] tasks = current.index().forAction("have_registered");
+            if (tasks.length == 0) return;
+            Map<ResourceLocation, SpeciesDexRecord> records = Cobblemon.playerDataManager.getPokedexData(playerUUID).getSpeciesRecords();
+            RegisteredSpecies registered = registeredSpecies.computeIfAbsent(playerUUID, id -> new RegisteredSpecies());
+            ActiveTasks active = current.activeTasks(teamData.getTeamId());
+            for (CobblemonTask task : tasks) {
+                // Sets are kept up to date for inactive tasks too, so they are correct once a task unlocks
+                int count = changedSpecies == null
+                        ? registered.rescan(task, records)
+                        : registered.update(task, changedSpecies, records);
+                if (isActive(teamData, active, task)) {
+                    progress.set(teamData, task, count);
+                }
             }
         } catch (Exception e) {
             CobblemonQuests.LOGGER.warning("Error adding caught pokemon to the dex " + Arrays.toString(e.getStackTrace()));
@@ -92,7 +164,69 @@ public class CobblemonQuestsEventHandler {
     }
 
     private void playerJoin(ServerPlayer player) {
-        triggerPokeDexUpdate(player.getUUID());
+        triggerPokeDexUpdate(player.getUUID(), null);
+    }
+
+    private void endOfTick() {
+        drainBattleActions();
+        processBatch(levelUps.drain());
+        applyMatches(matchingPool);
+        TaskSnapshot current = snapshot.get();
+        progress.flush(task -> current.index().ordinal(task) >= 0);
+    }
+
+    /**
+     * Applies the progress computed by the matching workers. Results are checked against the
+     * current snapshot and team state, since a task may have been completed, locked or removed
+     * while the event was being matched.
+     */
+    private void applyMatches(MatchingPool pool) {
+        if (pool == null) return;
+        TaskSnapshot current = snapshot.get();
+        pool.drain(result -> result.replay(progress, (teamData, task) ->
+                current.index().ordinal(task) >= 0 && isActive(teamData, current.activeTasks(teamData.getTeamId()), task)));
+    }
+
+    /**
+     * Queues a Pokemon action fired on a battle thread. The Pokemon's traits are captured now, while
+     * it is still in its battle form; location and team are resolved on the server thread when the
+     * queue is drained at the end of the tick.
+     *
+     * @param pokemon the Pokemon the action applies to
+     * @param action  the action id
+     * @param amount  the progress to add
+     * @param player  the player credited with the action
+     */
+    public void queueBattleAction(Pokemon pokemon, String action, long amount, ServerPlayer player) {
+        battleActions.add(new PokemonAction(pokemon, action, amount, player, PokemonTraits.of(pokemon)));
+    }
+
+    private void drainBattleActions() {
+        List<PokemonAction> batch = new ArrayList<>();
+        DeferredAction next;
+        while ((next = battleActions.poll()) != null) {
+            if (next instanceof PokemonAction pokemonAction) {
+                // Checks if the player just caught this Pokémon. Done to bypass an issue with two events being
+                // fired for the same Pokémon and adding progress to catch and defeat tasks.
+                if (pokemonAction.action().equals("defeat") && pokemonAction.player() != null
+                        && recentActions.contains(pokemonAction.player().getUUID(), pokemonAction.pokemon().getUuid(), DedupWindow.ActionClass.CAPTURE)) {
+                    continue;
+                }
+                batch.add(pokemonAction);
+            } else if (next instanceof DataAction dataAction) {
+                // Keeps the order between Pokemon and data actions
+                processBatch(batch);
+                batch = new ArrayList<>();
+                processTasksForTeam(dataAction.data(), dataAction.action(), dataAction.amount(), dataAction.player());
+            }
+        }
+        processBatch(batch);
+    }
+
+    private void playerQuit(ServerPlayer player) {
+        teamDataByPlayer.remove(player.getUUID());
+        registeredSpecies.remove(player.getUUID());
+        recentActions.remove(player.getUUID());
     }
 
     private void pokeDexChanged(PokedexDataChangedEvent pre) {
@@ -131,16 +265,20 @@ public class CobblemonQuestsEventHandler {
     }
 
     private void pokeDexChangedPost(PokedexDataChangedEvent.Post post) {
-        triggerPokeDexUpdate(post.getPlayerUUID());
+        try {
+            Pokemon pokemon = post.getDataSource().getPokemon();
+            triggerPokeDexUpdate(post.getPlayerUUID(), pokemon.getSpecies().getResourceIdentifier());
+        } catch (Exception e) {
+            CobblemonQuests.LOGGER.warning("Error processing pokedex changed event " + Arrays.toString(e.getStackTrace()));
+        }
     }
 
     private void pokemonScan(PokemonScannedEvent pokemonScannedEvent) {
         try {
             if (!(pokemonScannedEvent.getScannedEntity().resolveEntityScan() instanceof PokemonEntity)) return;
             Pokemon pokemon = ((PokemonEntity) pokemonScannedEvent.getScannedEntity()).getPokemon();
-            if (lastPokemonUuid == pokemon.getUuid()) return;
-            lastPokemonUuid = pokemon.getUuid();
             ServerPlayer player = pokemonScannedEvent.getPlayer();
+            if (!recentActions.tryRecord(player.getUUID(), pokemon.getUuid(), DedupWindow.ActionClass.SCAN)) return;
             processTasksForTeam(pokemon, "scan", 1, player);
         } catch (Exception e) {
             CobblemonQuests.LOGGER.warning("Error processing scan event " + Arrays.toString(e.getStackTrace()));
@@ -168,11 +306,23 @@ public class CobblemonQuestsEventHandler {
     }
 
     private void fileCacheClear(QuestFile file) {
-        if (file.isServerSide()) {
-            pokemonTasks = null;
+        if (file.isServerSide() && file instanceof ServerQuestFile serverFile) {
+            // Queued actions and pending progress are left to the end of the tick, so they are matched
+            // and written against the new snapshot rather than a file that is still being changed
+            publishSnapshot(serverFile);
+            teamDataByPlayer.clear();
+            registeredSpecies.clear();
         }
     }
 
+    /**
+     * Builds the task snapshot for the given file and publishes it. Events already running keep
+     * using the snapshot they started with.
+     */
+    private void publishSnapshot(ServerQuestFile file) {
+        snapshot.set(TaskSnapshot.build(file.collect(CobblemonTask.class)));
+    }
+
     private void pokemonRelease(ReleasePokemonEvent.Pre pre) {
         try {
             ServerPlayer player = pre.getPlayer();
@@ -193,10 +343,12 @@ public class CobblemonQuestsEventHandler {
             Pokemon pokemonGivenByPlayer2 = tradeEvent.getTradeParticipant1Pokemon();
             ServerPlayer player1 = pokemonGivenByPlayer2.getOwnerPlayer();
             ServerPlayer player2 = pokemonGivenByPlayer1.getOwnerPlayer();
-            processTasksForTeam(pokemonGivenByPlayer2, "trade_for", 1, player1);
-            processTasksForTeam(pokemonGivenByPlayer1, "trade_away", 1, player1);
-            processTasksForTeam(pokemonGivenByPlayer1, "trade_for", 1, player2);
-            processTasksForTeam(pokemonGivenByPlayer2, "trade_away", 1, player2);
+            processBatch(List.of(
+                    new PokemonAction(pokemonGivenByPlayer2, "trade_for", 1, player1),
+                    new PokemonAction(pokemonGivenByPlayer1, "trade_away", 1, player1),
+                    new PokemonAction(pokemonGivenByPlayer1, "trade_for", 1, player2),
+                    new PokemonAction(pokemonGivenByPlayer2, "trade_away", 1, player2)
+            ));
         } catch (Exception e) {
             CobblemonQuests.LOGGER.warning("Error processing trade event " + Arrays.toString(e.getStackTrace()));
         }
@@ -210,23 +362,21 @@ public class CobblemonQuestsEventHandler {
                 ServerPlayer player1 = players.get(0);
                 ServerPlayer player2 = players.get(1);
                 if (player1.getUUID().equals(battleVictoryEvent.getWinners().getFirst().getUuid())) {
-                    processTasksForTeam(player2.getName().getString(), "defeat_player", 1, player1);
+                    battleActions.add(new DataAction(player2.getName().getString(), "defeat_player", 1, player1));
                 } else {
-                    processTasksForTeam(player1.getName().getString(), "defeat_player", 1, player2);
+                    battleActions.add(new DataAction(player1.getName().getString(), "defeat_player", 1, player2));
                 }
             }
             ServerPlayer player = players.getFirst();
             if (!player.getUUID().equals(battleVictoryEvent.getWinners().getFirst().getUuid())) return;
             for (BattleActor actor : battleVictoryEvent.getBattle().getActors()) {
                 if (actor.getType() == ActorType.NPC) {
-                    processTasksForTeam(actor.getName().getString(), "defeat_npc", 1, player);
+                    battleActions.add(new DataAction(actor.getName().getString(), "defeat_npc", 1, player));
                     break;
                 }
                 if (actor.getType() == ActorType.WILD) {
-                    // Checks if the Pokémon is the last Pokémon that was caught. Done to bypass an issue with two events being
-                    // fired for the same Pokémon and adding progress to catch and defeat tasks.
-                    if (actor.getPokemonList().getFirst().getEffectedPokemon().getUuid() == lastPokemonUuid) return;
-                    processTasksForTeam(actor.getPokemonList().getFirst().getEffectedPokemon(), "defeat", 1, player);
+                    // Caught Pokémon are filtered out when the queue is drained
+                    queueBattleAction(actor.getPokemonList().getFirst().getEffectedPokemon(), "defeat", 1, player);
                     break;
                 }
             }
@@ -236,7 +386,7 @@ public class CobblemonQuestsEventHandler {
     }
 
     private void pokemonCatchEvent(PokemonCapturedEvent pokemonCapturedEvent) {
-        lastPokemonUuid = pokemonCapturedEvent.getPokemon().getUuid();
+        recentActions.record(pokemonCapturedEvent.getPlayer().getUUID(), pokemonCapturedEvent.getPokemon().getUuid(), DedupWindow.ActionClass.CAPTURE);
         pokemonCatch(pokemonCapturedEvent.getPokemon(), pokemonCapturedEvent.getPlayer());
     }
 
@@ -278,8 +428,10 @@ public class CobblemonQuestsEventHandler {
         try {
             ServerPlayer player = starterChosenEvent.getPlayer();
             Pokemon pokemon = starterChosenEvent.getPokemon();
-            processTasksForTeam(pokemon, "select_starter", 1, player);
-            pokemonCatch(pokemon, player);
+            processBatch(List.of(
+                    new PokemonAction(pokemon, "select_starter", 1, player),
+                    new PokemonAction(pokemon, "catch", 1, player)
+            ));
         } catch (Exception e) {
             CobblemonQuests.LOGGER.warning("Error processing starter chosen event " + Arrays.toString(e.getStackTrace()));
         }
@@ -289,8 +441,10 @@ public class CobblemonQuestsEventHandler {
         try {
             Pokemon pokemon = evolutionCompleteEvent.getPokemon();
             ServerPlayer player = pokemon.getOwnerPlayer();
-            processTasksForTeam(pokemon, "evolve_into", 1, player);
-            pokemonCatch(pokemon, pokemon.getOwnerPlayer());
+            processBatch(List.of(
+                    new PokemonAction(pokemon, "evolve_into", 1, player),
+                    new PokemonAction(pokemon, "catch", 1, player)
+            ));
         } catch (Exception e) {
             CobblemonQuests.LOGGER.warning("Error processing evolution complete event " + Arrays.toString(e.getStackTrace()));
         }
@@ -309,11 +463,9 @@ public class CobblemonQuestsEventHandler {
     private void pokemonLevelUp(LevelUpEvent levelUpEvent) {
         try {
             ServerPlayer player = levelUpEvent.getPokemon().getOwnerPlayer();
-            Pokemon pokemon = levelUpEvent.getPokemon();
-            long deltaLevel = levelUpEvent.getNewLevel() - levelUpEvent.getOldLevel();
-            System.out.println("Old level: " + levelUpEvent.getOldLevel() + " New level: " + levelUpEvent.getNewLevel() + " Delta level: " + deltaLevel);
-            processTasksForTeam(pokemon, "level_up_to", levelUpEvent.getNewLevel(), player);
-            processTasksForTeam(pokemon, "level_up", deltaLevel, player);
+            if (player == null) return;
+            // Candy storms fire many level-ups per tick; they are folded and processed at the end of the tick
+            levelUps.add(levelUpEvent.getPokemon(), player, levelUpEvent.getOldLevel(), levelUpEvent.getNewLevel());
         } catch (Exception e) {
             CobblemonQuests.LOGGER.warning("Error processing level up event " + Arrays.toString(e.getStackTrace()));
         }
@@ -324,7 +476,7 @@ public class CobblemonQuestsEventHandler {
             Pokemon pokemon = event.getPokemon().getEffectedPokemon();
             ServerPlayer player = pokemon.getOwnerPlayer();
             if (player != null) {
-                processTasksForTeam(pokemon, "mega_evolve", 1, player);
+                queueBattleAction(pokemon, "mega_evolve", 1, player);
             }
         } catch (Exception e) {
             CobblemonQuests.LOGGER.warning("Error processing mega evolution event " + Arrays.toString(e.getStackTrace()));
@@ -336,7 +488,7 @@ public class CobblemonQuestsEventHandler {
             Pokemon pokemon = event.getPokemon().getEffectedPokemon();
             ServerPlayer player = pokemon.getOwnerPlayer();
             if (player != null) {
-                processTasksForTeam(pokemon, "terastallize", 1, player);
+                queueBattleAction(pokemon, "terastallize", 1, player);
             }
         } catch (Exception e) {
             CobblemonQuests.LOGGER.warning("Error processing terastallization event " + Arrays.toString(e.getStackTrace()));
@@ -348,7 +500,7 @@ public class CobblemonQuestsEventHandler {
             Pokemon pokemon = event.getPokemon().getEffectedPokemon();
             ServerPlayer player = pokemon.getOwnerPlayer();
             if (player != null) {
-                processTasksForTeam(pokemon, "use_z_move", 1, player);
+                queueBattleAction(pokemon, "use_z_move", 1, player);
             }
         } catch (Exception e) {
             CobblemonQuests.LOGGER.warning("Error processing Z-move event " + Arrays.toString(e.getStackTrace()));
@@ -360,7 +512,7 @@ public class CobblemonQuestsEventHandler {
             Pokemon pokemon = event.getPokemon().getEffectedPokemon();
             ServerPlayer player = pokemon.getOwnerPlayer();
             if (player != null) {
-                processTasksForTeam(pokemon, "change_form", 1, player);
+                queueBattleAction(pokemon, "change_form", 1, player);
             }
         } catch (Exception e) {
             CobblemonQuests.LOGGER.warning("Error processing forme change event " + Arrays.toString(e.getStackTrace()));
@@ -377,7 +529,7 @@ public class CobblemonQuestsEventHandler {
                 if (player != null) {
                     // The fainted Pokemon (the one that was defeated)
                     Pokemon faintedPokemon = event.getKilled().getEffectedPokemon();
-                    processTasksForTeam(faintedPokemon, "faint_pokemon", 1, player);
+                    queueBattleAction(faintedPokemon, "faint_pokemon", 1, player);
                 }
             }
         } catch (Exception e) {
@@ -409,25 +561,104 @@ public class CobblemonQuestsEventHandler {
 
     public void processTasksForTeam(Pokemon pokemon, String action, long amount, ServerPlayer player) {
         try {
-            TeamData teamData = getTeamData(player);
+            TaskSnapshot current = snapshot.get();
+            TeamData teamData = getTeamData(current, player.getUUID());
             if (teamData == null) return;
-            for (CobblemonTask task : pokemonTasks) {
-                if (teamData.getProgress(task) < task.getMaxProgress() && teamData.canStartTasks(task.getQuest())) {
-                    task.increase(teamData, pokemon, action, amount, player);
+            dispatch(current, teamData, PokemonFacts.of(pokemon, player), action, amount, null);
+        } catch (Exception e) {
+            CobblemonQuests.LOGGER.warning("(1) Error processing task for team " + Arrays.toString(e.getStackTrace()));
+        }
+    }
+
+    /**
+     * Processes several actions fired by the same event in one go.
+     *
+     * <p>Entries are grouped by team so each team is resolved once, and the facts of each
+     * Pokemon/player pair are collected once and shared by all of its actions. Within a team the
+     * entries are matched in the given order, exactly as with consecutive
+     * {@link #processTasksForTeam} calls, except that a task reached through implied actions of
+     * the same Pokemon is credited once (see {@link TaskSnapshot#match}).</p>
+     *
+     * @param batch the actions to process
+     */
+    public void processBatch(List<PokemonAction> batch) {
+        try {
+            if (batch.isEmpty()) return;
+            TaskSnapshot current = snapshot.get();
+            Map<TeamData, List<PokemonAction>> byTeam = new LinkedHashMap<>();
+            for (PokemonAction entry : batch) {
+                if (entry.player() == null) continue;
+                TeamData teamData = getTeamData(current, entry.player().getUUID());
+                if (teamData == null) continue;
+                byTeam.computeIfAbsent(teamData, t -> new ArrayList<>(batch.size())).add(entry);
+            }
+            List<PokemonFacts> built = new ArrayList<>(2);
+            for (Map.Entry<TeamData, List<PokemonAction>> group : byTeam.entrySet()) {
+                TeamData teamData = group.getKey();
+                Map<Pokemon, Map<CobblemonTask, Boolean>> credits = new IdentityHashMap<>();
+                for (PokemonAction entry : group.getValue()) {
+                    Map<CobblemonTask, Boolean> credited = credits.computeIfAbsent(entry.pokemon(), p -> new IdentityHashMap<>());
+                    dispatch(current, teamData, factsFor(built, entry), entry.action(), entry.amount(), credited);
                 }
             }
         } catch (Exception e) {
-            CobblemonQuests.LOGGER.warning("(1) Error processing task for team " + Arrays.toString(e.getStackTrace()));
+            CobblemonQuests.LOGGER.warning("(3) Error processing task batch " + Arrays.toString(e.getStackTrace()));
+        }
+    }
+
+    private static PokemonFacts factsFor(List<PokemonFacts> built, PokemonAction entry) {
+        // Captured traits belong to one moment in time, so they are never shared with other entries
+        if (entry.traits() != null) {
+            return PokemonFacts.of(entry.traits(), entry.player());
         }
+        for (PokemonFacts facts : built) {
+            if (facts.pokemon() == entry.pokemon() && facts.player() == entry.player()) {
+                return facts;
+            }
+        }
+        PokemonFacts facts = PokemonFacts.of(entry.pokemon(), entry.player());
+        built.add(facts);
+        return facts;
+    }
+
+    private void dispatch(TaskSnapshot current, TeamData teamData, PokemonFacts facts, String action, long amount,
+                          Map<CobblemonTask, Boolean> credited) {
+        // Team state is not thread-safe, so workers match every candidate and applyMatches
+        // checks whether the task is active once the result is back on the server thread.
+        // A team's work runs in order on one shard, so entries of a batch can share credited
+        boolean submitted = submitMatch(teamData,
+                sink -> current.match(teamData, facts, action, amount, task -> true, credited, sink));
+        if (submitted) return;
+        ActiveTasks active = current.activeTasks(teamData.getTeamId());
+        current.match(teamData, facts, action, amount, task -> isActive(teamData, active, task), credited, progress);
+    }
+
+    /**
+     * Hands matching work to the worker pool, if there is one.
+     *
+     * @return false if there is no pool or it has shut down, and the caller must match synchronously
+     */
+    private boolean submitMatch(TeamData teamData, Consumer<ProgressSink> match) {
+        MatchingPool pool = matchingPool;
+        return pool != null && pool.submit(teamData.getTeamId(), match);
     }
 
     public void processTasksForTeam(String data, String action, long amount, ServerPlayer player) {
         try {
-            TeamData teamData = getTeamData(player);
+            TaskSnapshot current = snapshot.get();
+            TeamData teamData = getTeamData(current, player.getUUID());
             if (teamData == null) return;
-            for (CobblemonTask task : pokemonTasks) {
-                if (teamData.getProgress(task) < task.getMaxProgress() && teamData.canStartTasks(task.getQuest())) {
-                    task.increaseWoPokemon(teamData, data, action, amount);
+            // Goes through the team's shard as well, so it stays ordered with Pokemon actions
+            boolean submitted = submitMatch(teamData, sink -> {
+                for (CobblemonTask task : current.index().forAction(action)) {
+                    task.increaseWoPokemon(teamData, data, action, amount, sink);
+                }
+            });
+            if (submitted) return;
+            ActiveTasks active = current.activeTasks(teamData.getTeamId());
+            for (CobblemonTask task : current.index().forAction(action)) {
+                if (isActive(teamData, active, task)) {
+                    task.increaseWoPokemon(teamData, data, action, amount, progress);
                 }
             }
         } catch (Exception e) {
@@ -435,24 +666,67 @@ public class CobblemonQuestsEventHandler {
         }
     }
 
-    private TeamData getTeamData(ServerPlayer player) {
-        if (this.pokemonTasks == null) {
-            this.pokemonTasks = new HashSet<>(ServerQuestFile.INSTANCE.collect(CobblemonTask.class));
+    /**
+     * Called when a team completes a Cobblemon task, so later events skip it without a progress lookup.
+     *
+     * @param teamData the team that completed the task
+     * @param task     the completed task
+     */
+    public void onTaskCompleted(TeamData teamData, CobblemonTask task) {
+        TaskSnapshot current = snapshot.get();
+        if (current.index().isEmpty()) return;
+        current.activeTasks(teamData.getTeamId()).retire(task);
+    }
+
+    /**
+     * Called when a task's progress was forced, e.g. by a reset or the quest editor. The task is made
+     * visible to events again and retired lazily if it turns out to still be complete.
+     *
+     * @param teamData the team whose progress changed
+     * @param task     the affected task
+     */
+    public void onTaskProgressForced(TeamData teamData, CobblemonTask task) {
+        ActiveTasks active = snapshot.get().activeTasksIfPresent(teamData.getTeamId());
+        if (active != null) {
+            active.restore(task);
         }
-        if (this.pokemonTasks.isEmpty()) return null;
-        Team team = TeamManagerImpl.INSTANCE.getTeamForPlayer(player).orElse(null);
-        if (team == null) return null;
-        return ServerQuestFile.INSTANCE.getOrCreateTeamData(team);
     }
 
-    private TeamData getTeamData(UUID uuid) {
-        if (this.pokemonTasks == null) {
-            this.pokemonTasks = new HashSet<>(ServerQuestFile.INSTANCE.collect(CobblemonTask.class));
+    private boolean isActive(TeamData teamData, ActiveTasks active, CobblemonTask task) {
+        if (active.isRetired(task)) return false;
+        if (teamData.getProgress(task) >= task.getMaxProgress()) {
+            active.retire(task);
+            return false;
         }
-        if (uuid == null) return null;
-        if (this.pokemonTasks.isEmpty()) return null;
-        Team team = TeamManagerImpl.INSTANCE.getTeamByID(uuid).orElse(null);
+        // Dependencies can become unmet again through resets outside this task, and FTB Quests already
+        // caches them per team, so startability is checked every time rather than cached here
+        return teamData.canStartTasks(task.getQuest());
+    }
+
+    /**
+     * @return the de-duplication window shared by the catch, defeat and scan handlers
+     */
+    public DedupWindow getRecentActions() {
+        return recentActions;
+    }
+
+    /**
+     * Resolves the quest data of the team the given player belongs to. Results are cached until
+     * the player logs out, a party changes or the quest file is reloaded.
+     *
+     * @param current    the snapshot the event is processed against
+     * @param playerUUID the player's UUID
+     * @return the team data, or null if there are no Cobblemon tasks or the player has no team
+     */
+    private TeamData getTeamData(TaskSnapshot current, UUID playerUUID) {
+        if (playerUUID == null) return null;
+        if (current.index().isEmpty()) return null;
+        TeamData cached = teamDataByPlayer.get(playerUUID);
+        if (cached != null) return cached;
+        Team team = TeamManagerImpl.INSTANCE.getTeamForPlayerID(playerUUID).orElse(null);
         if (team == null) return null;
-        return ServerQuestFile.INSTANCE.getOrCreateTeamData(team);
+        TeamData teamData = ServerQuestFile.INSTANCE.getOrCreateTeamData(team);
+        teamDataByPlayer.put(playerUUID, teamData);
+        return teamData;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,14 @@
+package cobblemonquestsextended.cobblemon_quests_extended.events;
+
+import net.minecraft.server.level.ServerPlayer;
+
+/**
+ * An action fired without a Pokemon, such as defeating an NPC or another player.
+ *
+ * @param data   the value matched against the task's form field (e.g. the NPC's name)
+ * @param action the action id
+ * @param amount the progress to add
+ * @param player the player credited with the action
+ */
+record DataAction(String data, String action, long amount, ServerPlayer player) implements DeferredAction {
+}
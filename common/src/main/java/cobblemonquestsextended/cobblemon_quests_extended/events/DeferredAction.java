@@ -0,0 +1,8 @@
+package cobblemonquestsextended.cobblemon_quests_extended.events;
+
+/**
+ * An action captured off the server thread, waiting in the handler's battle queue until the
+ * server thread drains it at the end of the tick.
+ */
+sealed interface DeferredAction permits PokemonAction, DataAction {
+}
@@ -0,0 +1,74 @@
+package cobblemonquestsextended.cobblemon_quests_extended.events;
+
+import com.cobblemon.mod.common.pokemon.Pokemon;
+import net.minecraft.server.level.ServerPlayer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Folds the level-ups a Pokemon gains within one tick into a single level change.
+ *
+ * <p>Feeding a stack of candies fires one level-up event per level in the same tick. Each Pokemon
+ * instead gets one {@code (oldLevel, newLevel)} pair, which {@link #drain()} turns into exactly one
+ * {@code level_up_to} and one {@code level_up} action.</p>
+ *
+ * <p>Only accessed from the server thread.</p>
+ */
+final class LevelUpCoalescer {
+
+    private final Map<UUID, LevelChange> pending = new LinkedHashMap<>();
+
+    /**
+     * Records a level-up.
+     *
+     * @param pokemon  the Pokemon that levelled up
+     * @param player   the owner to credit
+     * @param oldLevel the level before this level-up
+     * @param newLevel the level after this level-up
+     */
+    void add(Pokemon pokemon, ServerPlayer player, int oldLevel, int newLevel) {
+        LevelChange change = pending.get(pokemon.getUuid());
+        if (change == null) {
+            pending.put(pokemon.getUuid(), new LevelChange(pokemon, player, oldLevel, newLevel));
+        } else {
+            change.player = player;
+            change.newLevel = newLevel;
+        }
+    }
+
+    /**
+     * Removes all recorded level changes.
+     *
+     * @return the actions for the level changes, in the order the Pokemon first levelled up
+     */
+    List<PokemonAction> drain() {
+        if (pending.isEmpty()) {
+            return List.of();
+        }
+        List<PokemonAction> actions = new ArrayList<>(pending.size() * 2);
+        for (LevelChange change : pending.values()) {
+            actions.add(new PokemonAction(change.pokemon, "level_up_to", change.newLevel, change.player));
+            actions.add(new PokemonAction(change.pokemon, "level_up", change.newLevel - change.oldLevel, change.player));
+        }
+        pending.clear();
+        return actions;
+    }
+
+    private static final class LevelChange {
+        private final Pokemon pokemon;
+        private final int oldLevel;
+        private ServerPlayer player;
+        private int newLevel;
+
+        LevelChange(Pokemon pokemon, ServerPlayer player, int oldLevel, int newLevel) {
+            this.pokemon = pokemon;
+            this.player = player;
+            this.oldLevel = oldLevel;
+            this.newLevel = newLevel;
+        }
+    }
+}
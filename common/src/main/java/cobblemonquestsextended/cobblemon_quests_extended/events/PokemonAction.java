@@ -0,0 +1,24 @@
+package cobblemonquestsextended.cobblemon_quests_extended.events;
+
+import com.cobblemon.mod.common.pokemon.Pokemon;
+import cobblemonquestsextended.cobblemon_quests_extended.engine.PokemonTraits;
+import net.minecraft.server.level.ServerPlayer;
+
+/**
+ * A single action fired for a Pokemon, as passed to
+ * {@link CobblemonQuestsEventHandler#processBatch(java.util.List)}.
+ *
+ * @param pokemon the Pokemon the action applies to
+ * @param action  the action id (e.g. "catch", "trade_for")
+ * @param amount  the progress to add, or the target value for "level_up_to"
+ * @param player  the player credited with the action; entries without a player are skipped
+ * @param traits  the Pokemon's traits as captured when the event fired, or null to read them
+ *                when the action is processed
+ */
+public record PokemonAction(Pokemon pokemon, String action, long amount, ServerPlayer player, PokemonTraits traits)
+        implements DeferredAction {
+
+    public PokemonAction(Pokemon pokemon, String action, long amount, ServerPlayer player) {
+        this(pokemon, action, amount, player, null);
+    }
+}
@@ -54,7 +54,7 @@ public final class MegaShowdownEventHandler {
 
             if (player != null) {
                 String action = gmax ? "gigantamax" : "dynamax";
-                CobblemonQuests.eventHandler.processTasksForTeam(pokemon, action, 1, player);
+                CobblemonQuests.eventHandler.queueBattleAction(pokemon, action, 1, player);
             }
         } catch (Exception e) {
             CobblemonQuests.LOGGER.warning("Error processing dynamax event: " + Arrays.toString(e.getStackTrace()));
@@ -84,7 +84,7 @@ public final class MegaShowdownEventHandler {
             ServerPlayer player = pokemon.getOwnerPlayer();
 
             if (player != null) {
-                CobblemonQuests.eventHandler.processTasksForTeam(pokemon, "ultra_burst", 1, player);
+                CobblemonQuests.eventHandler.queueBattleAction(pokemon, "ultra_burst", 1, player);
             }
         } catch (Exception e) {
             CobblemonQuests.LOGGER.warning("Error processing ultra burst event: " + Arrays.toString(e.getStackTrace()));
@@ -0,0 +1,28 @@
+package cobblemonquestsextended.cobblemon_quests_extended.net;
+
+import dev.architectury.networking.NetworkManager;
+import dev.architectury.platform.Platform;
+import net.fabricmc.api.EnvType;
+
+/**
+ * Registers the mod's own packets. Everything else is synced through FTB Quests.
+ */
+public final class CobblemonQuestsNetwork {
+
+    private CobblemonQuestsNetwork() {
+        // Utility class
+    }
+
+    public static void init() {
+        NetworkManager.registerReceiver(NetworkManager.Side.C2S, EditTaskPatchMessage.TYPE,
+                EditTaskPatchMessage.STREAM_CODEC, EditTaskPatchMessage::handle);
+
+        // Dedicated servers only need to know how to encode the response
+        if (Platform.getEnv() == EnvType.CLIENT) {
+            NetworkManager.registerReceiver(NetworkManager.Side.S2C, TaskPatchResponseMessage.TYPE,
+                    TaskPatchResponseMessage.STREAM_CODEC, TaskPatchResponseMessage::handle);
+        } else {
+            NetworkManager.registerS2CPayloadType(TaskPatchResponseMessage.TYPE, TaskPatchResponseMessage.STREAM_CODEC);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package cobblemonquestsextended.cobblemon_quests_extended.net;
+
+import cobblemonquestsextended.cobblemon_quests_extended.serialization.TaskNetCodec;
+import cobblemonquestsextended.cobblemon_quests_extended.tasks.CobblemonTask;
+import dev.architectury.networking.NetworkManager;
+import dev.ftb.mods.ftbquests.quest.ServerQuestFile;
+import dev.ftb.mods.ftbquests.util.NetUtils;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
+
+import static cobblemonquestsextended.cobblemon_quests_extended.CobblemonQuests.MOD_ID;
+
+/**
+ * Client to server: an edit of a Cobblemon task that carries only the changed fields.
+ *
+ * <p>Sent instead of FTB Quests' {@code EditObjectMessage} when only the task's conditions were
+ * edited. The server applies the patch and forwards it unchanged to every player as a
+ * {@link TaskPatchResponseMessage}.</p>
+ *
+ * @param taskId the id of the edited task
+ * @param patch  the changed fields
+ */
+public record EditTaskPatchMessage(long taskId, TaskNetCodec.Patch patch) implements CustomPacketPayload {
+
+    public static final Type<EditTaskPatchMessage> TYPE = new Type<>(ResourceLocation.fromNamespaceAndPath(MOD_ID, "edit_task_patch"));
+
+    public static final StreamCodec<RegistryFriendlyByteBuf, EditTaskPatchMessage> STREAM_CODEC = StreamCodec.composite(
+            ByteBufCodecs.VAR_LONG, EditTaskPatchMessage::taskId,
+            TaskNetCodec.Patch.STREAM_CODEC, EditTaskPatchMessage::patch,
+            EditTaskPatchMessage::new
+    );
+
+    @Override
+    public Type<EditTaskPatchMessage> type() {
+        return TYPE;
+    }
+
+    static void handle(EditTaskPatchMessage message, NetworkManager.PacketContext context) {
+        context.queue(() -> {
+            if (!NetUtils.canEdit(context) || !(context.getPlayer() instanceof ServerPlayer player)) {
+                return;
+            }
+            if (ServerQuestFile.INSTANCE.getBase(message.taskId()) instanceof CobblemonTask task) {
+                task.applyPatch(message.patch());
+                ServerQuestFile.INSTANCE.clearCachedData();
+                ServerQuestFile.INSTANCE.markDirty();
+                NetworkManager.sendToPlayers(player.server.getPlayerList().getPlayers(),
+                        new TaskPatchResponseMessage(message.taskId(), message.patch()));
+            }
+        });
+    }
+}
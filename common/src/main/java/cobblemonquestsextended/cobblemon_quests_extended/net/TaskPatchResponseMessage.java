@@ -0,0 +1,49 @@
+package cobblemonquestsextended.cobblemon_quests_extended.net;
+
+import cobblemonquestsextended.cobblemon_quests_extended.serialization.TaskNetCodec;
+import cobblemonquestsextended.cobblemon_quests_extended.tasks.CobblemonTask;
+import dev.architectury.networking.NetworkManager;
+import dev.ftb.mods.ftbquests.client.ClientQuestFile;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+
+import static cobblemonquestsextended.cobblemon_quests_extended.CobblemonQuests.MOD_ID;
+
+/**
+ * Server to client: a task edit accepted by the server, broadcast to every player.
+ *
+ * @param taskId the id of the edited task
+ * @param patch  the changed fields
+ */
+public record TaskPatchResponseMessage(long taskId, TaskNetCodec.Patch patch) implements CustomPacketPayload {
+
+    public static final Type<TaskPatchResponseMessage> TYPE = new Type<>(ResourceLocation.fromNamespaceAndPath(MOD_ID, "task_patch_response"));
+
+    public static final StreamCodec<RegistryFriendlyByteBuf, TaskPatchResponseMessage> STREAM_CODEC = StreamCodec.composite(
+            ByteBufCodecs.VAR_LONG, TaskPatchResponseMessage::taskId,
+            TaskNetCodec.Patch.STREAM_CODEC, TaskPatchResponseMessage::patch,
+            TaskPatchResponseMessage::new
+    );
+
+    @Override
+    public Type<TaskPatchResponseMessage> type() {
+        return TYPE;
+    }
+
+    @Environment(EnvType.CLIENT)
+    static void handle(TaskPatchResponseMessage message, NetworkManager.PacketContext context) {
+        context.queue(() -> {
+            if (ClientQuestFile.INSTANCE != null
+                    && ClientQuestFile.INSTANCE.getBase(message.taskId()) instanceof CobblemonTask task) {
+                task.applyPatch(message.patch());
+                ClientQuestFile.INSTANCE.clearCachedData();
+                task.editedFromGUI();
+            }
+        });
+    }
+}
@@ -1,6 +1,7 @@
 package cobblemonquestsextended.cobblemon_quests_extended.registry;
 
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Defines the metadata for a quest action type.
@@ -39,7 +40,13 @@ public record ActionDefinition(
         /**
          * The category this action belongs to for organizational purposes.
          */
-        ActionCategory category
+        ActionCategory category,
+
+        /**
+         * The actions this action also counts as. For example, "catch" implies "obtain", so catching
+         * a Pokemon progresses obtain tasks too. Implications are transitive.
+         */
+        Set<String> implies
 ) {
     /**
      * Creates an ActionDefinition with validation.
@@ -50,6 +57,7 @@ public record ActionDefinition(
      * @param exampleKey      the translation key for usage example
      * @param requiresPokemon whether a Pokemon parameter is required
      * @param category        the action category
+     * @param implies         the ids of the actions this action also counts as
      */
     public ActionDefinition {
         Objects.requireNonNull(id, "Action ID cannot be null");
@@ -61,6 +69,32 @@ public record ActionDefinition(
         if (id.isBlank()) {
             throw new IllegalArgumentException("Action ID cannot be blank");
         }
+        implies = implies == null ? Set.of() : Set.copyOf(implies);
+    }
+
+    /**
+     * Creates an ActionDefinition that implies no other actions.
+     *
+     * @param id              the action identifier
+     * @param translationKey  the translation key for localization
+     * @param descriptionKey  the translation key for description
+     * @param exampleKey      the translation key for usage example
+     * @param requiresPokemon whether a Pokemon parameter is required
+     * @param category        the action category
+     */
+    public ActionDefinition(String id, String translationKey, String descriptionKey, String exampleKey,
+                            boolean requiresPokemon, ActionCategory category) {
+        this(id, translationKey, descriptionKey, exampleKey, requiresPokemon, category, Set.of());
+    }
+
+    /**
+     * Returns a copy of this definition that also counts as the given actions.
+     *
+     * @param actionIds the ids of the implied actions
+     * @return a new ActionDefinition instance
+     */
+    public ActionDefinition implying(String... actionIds) {
+        return new ActionDefinition(id, translationKey, descriptionKey, exampleKey, requiresPokemon, category, Set.of(actionIds));
     }
 
     /**
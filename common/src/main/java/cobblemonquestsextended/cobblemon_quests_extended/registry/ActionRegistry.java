@@ -2,11 +2,16 @@ package cobblemonquestsextended.cobblemon_quests_extended.registry;
 
 import cobblemonquestsextended.cobblemon_quests_extended.CobblemonQuests;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
@@ -26,10 +31,20 @@ import java.util.stream.Collectors;
  *     ActionCategory.OTHER
  * ));
  * }</pre>
+ *
+ * <p>An action can declare other actions it implies, e.g. an add-on's "buy_pokemon" implying
+ * "obtain". The transitive closure of all implications is computed once and used by the task
+ * index, so tasks listing "obtain" are dispatched for every implying action at no extra cost:</p>
+ * <pre>{@code
+ * ActionRegistry.register("buy_pokemon",
+ *     ActionDefinition.of("buy_pokemon", true, ActionCategory.CATCH).implying("obtain"));
+ * }</pre>
  */
 public final class ActionRegistry {
 
     private static final Map<String, ActionDefinition> ACTIONS = new ConcurrentHashMap<>();
+    // Transitive implications, rebuilt lazily after every registration
+    private static volatile Map<String, Set<String>> implied = null;
 
     // Static initializer to register all built-in actions
     static {
@@ -59,6 +74,7 @@ public final class ActionRegistry {
         }
 
         ACTIONS.put(actionId, definition);
+        implied = null;
         CobblemonQuests.LOGGER.debug("Registered action: {}", actionId);
         return true;
     }
@@ -77,6 +93,7 @@ public final class ActionRegistry {
         }
 
         ActionDefinition previous = ACTIONS.put(actionId, definition);
+        implied = null;
         if (previous != null) {
             CobblemonQuests.LOGGER.info("Replaced action registration for: {}", actionId);
         } else {
@@ -147,6 +164,44 @@ public final class ActionRegistry {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Gets every action the given action counts as, following implications transitively.
+     * The action itself is not included unless it is part of a cycle.
+     *
+     * @param actionId the fired action
+     * @return the implied action IDs, empty if there are none
+     */
+    public static Set<String> getImpliedActions(String actionId) {
+        Map<String, Set<String>> closure = implied;
+        if (closure == null) {
+            closure = buildImplications();
+            implied = closure;
+        }
+        return closure.getOrDefault(actionId, Set.of());
+    }
+
+    private static Map<String, Set<String>> buildImplications() {
+        Map<String, Set<String>> closure = new HashMap<>();
+        for (ActionDefinition definition : ACTIONS.values()) {
+            if (definition.implies().isEmpty()) {
+                continue;
+            }
+            Set<String> reached = new LinkedHashSet<>();
+            Deque<String> pending = new ArrayDeque<>(definition.implies());
+            while (!pending.isEmpty()) {
+                String next = pending.pop();
+                if (reached.add(next)) {
+                    ActionDefinition nextDefinition = ACTIONS.get(next);
+                    if (nextDefinition != null) {
+                        pending.addAll(nextDefinition.implies());
+                    }
+                }
+            }
+            closure.put(definition.id(), Set.copyOf(reached));
+        }
+        return Map.copyOf(closure);
+    }
+
     /**
      * Gets the total number of registered actions.
      *
@@ -162,10 +217,10 @@ public final class ActionRegistry {
      */
     private static void registerBuiltInActions() {
         // CATCH category - obtaining Pokemon
-        registerInternal("catch", true, ActionCategory.CATCH);
+        registerInternal("catch", true, ActionCategory.CATCH, "obtain");
         registerInternal("obtain", true, ActionCategory.CATCH);
         registerInternal("select_starter", true, ActionCategory.CATCH);
-        registerInternal("revive_fossil", true, ActionCategory.CATCH);
+        registerInternal("revive_fossil", true, ActionCategory.CATCH, "obtain");
         registerInternal("reel", true, ActionCategory.CATCH);
         registerInternal("hatch_egg", true, ActionCategory.CATCH);
 
@@ -178,12 +233,12 @@ public final class ActionRegistry {
 
         // EVOLUTION category - evolution related
         registerInternal("evolve", true, ActionCategory.EVOLUTION);
-        registerInternal("evolve_into", true, ActionCategory.EVOLUTION);
+        registerInternal("evolve_into", true, ActionCategory.EVOLUTION, "obtain");
         registerInternal("change_form", true, ActionCategory.EVOLUTION);
 
         // TRADE category - trading
         registerInternal("trade_away", true, ActionCategory.TRADE);
-        registerInternal("trade_for", true, ActionCategory.TRADE);
+        registerInternal("trade_for", true, ActionCategory.TRADE, "obtain");
 
         // POKEDEX category - dex related
         registerInternal("scan", true, ActionCategory.POKEDEX);
@@ -211,8 +266,8 @@ public final class ActionRegistry {
     /**
      * Internal helper to register built-in actions without logging.
      */
-    private static void registerInternal(String id, boolean requiresPokemon, ActionCategory category) {
-        ACTIONS.put(id, ActionDefinition.of(id, requiresPokemon, category));
+    private static void registerInternal(String id, boolean requiresPokemon, ActionCategory category, String... implies) {
+        ACTIONS.put(id, ActionDefinition.of(id, requiresPokemon, category).implying(implies));
     }
 
     /**
@@ -0,0 +1,124 @@
+package cobblemonquestsextended.cobblemon_quests_extended.serialization;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses and joins the comma-separated lists used by format v1/v2 task data and
+ * {@link cobblemonquestsextended.cobblemon_quests_extended.tasks.CobblemonTask#readList(String)}.
+ *
+ * <p>Parsing is a single scan over the string: each value is trimmed by index and checked for
+ * placeholders and duplicates against the values already found, so only kept values are ever
+ * copied out of the input. Duplicates are found by comparing the hashes of the values so far
+ * before comparing characters; filter lists are short, so a linear check beats a hash set.</p>
+ */
+public final class CommaLists {
+
+    private static final String CHOICE_ANY = "choice_any";
+    private static final ThreadLocal<StringBuilder> BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    private CommaLists() {
+        // Utility class
+    }
+
+    /**
+     * Splits a comma-separated list. Values are trimmed; empty values, duplicates and
+     * "choice_any" placeholders are dropped.
+     *
+     * @param s the joined string; may be null
+     * @return a new mutable list of the kept values in order
+     */
+    public static ArrayList<String> parse(String s) {
+        if (s == null || s.isEmpty()) {
+            return new ArrayList<>();
+        }
+        int length = s.length();
+        int count = 1;
+        for (int i = 0; i < length; i++) {
+            if (s.charAt(i) == ',') count++;
+        }
+        ArrayList<String> values = new ArrayList<>(count);
+        int[] hashes = new int[count];
+        // Next placeholder at or after the current value; most strings have none
+        int choiceAny = s.indexOf(CHOICE_ANY);
+        int start = 0;
+        while (start <= length) {
+            int end = s.indexOf(',', start);
+            if (end < 0) end = length;
+            int from = start;
+            int to = end;
+            while (from < to && s.charAt(from) <= ' ') from++;
+            while (to > from && s.charAt(to - 1) <= ' ') to--;
+            if (choiceAny >= 0 && choiceAny < from) {
+                choiceAny = s.indexOf(CHOICE_ANY, from);
+            }
+            boolean placeholder = choiceAny >= 0 && choiceAny + CHOICE_ANY.length() <= to;
+            if (from < to && !placeholder) {
+                int hash = hash(s, from, to);
+                if (!containsRange(values, hashes, hash, s, from, to)) {
+                    hashes[values.size()] = hash;
+                    values.add(s.substring(from, to));
+                }
+            }
+            start = end + 1;
+        }
+        return values;
+    }
+
+    /**
+     * Adds a value unless it is empty after trimming, a "choice_any" placeholder or already
+     * present. Shares the rules of {@link #parse(String)} for values that arrive one by one.
+     *
+     * @param values the list to add to
+     * @param value  the raw value
+     */
+    public static void addDistinct(List<String> values, String value) {
+        String trimmed = value.trim();
+        if (!trimmed.isEmpty() && !trimmed.contains(CHOICE_ANY) && !values.contains(trimmed)) {
+            values.add(trimmed);
+        }
+    }
+
+    /**
+     * Joins values with commas. Null entries are skipped; the list is not modified.
+     *
+     * @param values the values to join
+     * @return the joined string
+     */
+    public static String join(List<String> values) {
+        StringBuilder builder = BUILDER.get();
+        builder.setLength(0);
+        boolean first = true;
+        for (int i = 0, size = values.size(); i < size; i++) {
+            String value = values.get(i);
+            if (value == null) continue;
+            if (!first) builder.append(',');
+            builder.append(value);
+            first = false;
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Same as {@link String#hashCode()} of the substring, without creating it.
+     */
+    private static int hash(String s, int from, int to) {
+        int hash = 0;
+        for (int i = from; i < to; i++) {
+            hash = 31 * hash + s.charAt(i);
+        }
+        return hash;
+    }
+
+    private static boolean containsRange(List<String> values, int[] hashes, int hash, String s, int from, int to) {
+        int length = to - from;
+        for (int i = 0, size = values.size(); i < size; i++) {
+            if (hashes[i] != hash) continue;
+            String value = values.get(i);
+            if (value.length() == length && s.regionMatches(from, value, 0, length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
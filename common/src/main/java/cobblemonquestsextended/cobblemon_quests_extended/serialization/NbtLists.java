@@ -0,0 +1,64 @@
+package cobblemonquestsextended.cobblemon_quests_extended.serialization;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.StringTag;
+import net.minecraft.nbt.Tag;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads and writes the filter lists of Cobblemon tasks in NBT.
+ *
+ * <p>Since format v3, every list is stored as a {@link ListTag} of strings, so loading a quest
+ * file copies the entries directly instead of splitting a joined string. Lists written by v1 and
+ * v2 as one comma-joined {@link StringTag} are still read; the tag type tells the two apart, so
+ * a file is migrated transparently the next time it is saved.</p>
+ */
+public final class NbtLists {
+
+    private NbtLists() {
+        // Utility class
+    }
+
+    /**
+     * Stores a list as a {@link ListTag} of strings. Null entries are skipped.
+     *
+     * @param nbt    the compound to write into
+     * @param key    the tag key
+     * @param values the values to store
+     */
+    public static void write(CompoundTag nbt, String key, List<String> values) {
+        ListTag list = new ListTag();
+        for (String value : values) {
+            if (value != null) {
+                list.add(StringTag.valueOf(value));
+            }
+        }
+        nbt.put(key, list);
+    }
+
+    /**
+     * Reads a list in either the v3 list format or the legacy comma-joined format. Values are
+     * trimmed; empty values, duplicates and "choice_any" placeholders are dropped.
+     *
+     * @param nbt the compound to read from
+     * @param key the tag key
+     * @return a new mutable list, empty if the tag is missing
+     */
+    public static ArrayList<String> read(CompoundTag nbt, String key) {
+        if (nbt.getTagType(key) == Tag.TAG_STRING) {
+            return CommaLists.parse(nbt.getString(key));
+        }
+        ListTag list = nbt.getList(key, Tag.TAG_STRING);
+        if (list.isEmpty()) {
+            return new ArrayList<>();
+        }
+        ArrayList<String> values = new ArrayList<>(list.size());
+        for (int i = 0; i < list.size(); i++) {
+            CommaLists.addDistinct(values, list.getString(i));
+        }
+        return values;
+    }
+}
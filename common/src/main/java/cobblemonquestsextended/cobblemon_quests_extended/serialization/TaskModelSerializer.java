@@ -6,18 +6,15 @@ import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.RegistryFriendlyByteBuf;
 
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.stream.Collectors;
 
 /**
  * Serializer for converting {@link CobblemonTaskModel} to/from NBT and network buffers.
  *
  * <p>This class handles version-aware serialization with automatic migration from v1 (legacy)
- * to v2 (current) format. V1 uses the original CobblemonTask field names while V2 uses
- * normalized model field names.</p>
+ * and v2 to v3 (current) format. V1 uses the original CobblemonTask field names while V2 and V3
+ * use normalized model field names. V3 stores each list as a string {@code ListTag} instead of
+ * a comma-joined string; see {@link NbtLists}.</p>
  *
  * <p>Key features:</p>
  * <ul>
@@ -32,14 +29,14 @@ public final class TaskModelSerializer {
     /**
      * Current NBT serialization version. Increment when making breaking changes.
      */
-    public static final int NBT_VERSION = 2;
+    public static final int NBT_VERSION = 3;
 
     /**
      * NBT tag key for storing the model version.
      */
     private static final String VERSION_TAG = "_model_version";
 
-    // ===== V2 NBT Field Names (current) =====
+    // ===== V2/V3 NBT Field Names (current) =====
     private static final String ACTIONS = "actions";
     private static final String AMOUNT = "amount";
     private static final String SHINY = "shiny";
@@ -118,22 +115,22 @@ public final class TaskModelSerializer {
         nbt.putInt(VERSION_TAG, NBT_VERSION);
 
         // Action selection
-        nbt.putString(ACTIONS, writeList(model.getActions()));
+        NbtLists.write(nbt, ACTIONS, model.getActions());
 
         // Basic conditions
         nbt.putLong(AMOUNT, model.getAmount());
         nbt.putBoolean(SHINY, model.isShiny());
-        nbt.putString(POKEMONS, writeList(model.getPokemons()));
-        nbt.putString(POKEMON_TYPES, writeList(model.getPokemonTypes()));
-        nbt.putString(NATURES, writeList(model.getNatures()));
-        nbt.putString(REGIONS, writeList(model.getRegions()));
-        nbt.putString(GENDERS, writeList(model.getGenders()));
-        nbt.putString(FORMS, writeList(model.getForms()));
+        NbtLists.write(nbt, POKEMONS, model.getPokemons());
+        NbtLists.write(nbt, POKEMON_TYPES, model.getPokemonTypes());
+        NbtLists.write(nbt, NATURES, model.getNatures());
+        NbtLists.write(nbt, REGIONS, model.getRegions());
+        NbtLists.write(nbt, GENDERS, model.getGenders());
+        NbtLists.write(nbt, FORMS, model.getForms());
 
         // Location and time conditions
-        nbt.putString(BIOMES, writeList(model.getBiomes()));
-        nbt.putString(DIMENSIONS, writeList(model.getDimensions()));
-        nbt.putString(POKE_BALLS_USED, writeList(model.getPokeBallsUsed()));
+        NbtLists.write(nbt, BIOMES, model.getBiomes());
+        NbtLists.write(nbt, DIMENSIONS, model.getDimensions());
+        NbtLists.write(nbt, POKE_BALLS_USED, model.getPokeBallsUsed());
         nbt.putLong(TIME_MIN, model.getTimeMin());
         nbt.putLong(TIME_MAX, model.getTimeMax());
 
@@ -145,17 +142,17 @@ public final class TaskModelSerializer {
         nbt.putString(DEX_PROGRESS, model.getDexProgress());
 
         // Gimmick-specific conditions
-        nbt.putString(TERA_TYPES, writeList(model.getTeraTypes()));
-        nbt.putString(MEGA_FORMS, writeList(model.getMegaForms()));
-        nbt.putString(Z_CRYSTALS, writeList(model.getZCrystals()));
-        nbt.putString(DYNAMAX_TYPES, writeList(model.getDynamaxTypes()));
+        NbtLists.write(nbt, TERA_TYPES, model.getTeraTypes());
+        NbtLists.write(nbt, MEGA_FORMS, model.getMegaForms());
+        NbtLists.write(nbt, Z_CRYSTALS, model.getZCrystals());
+        NbtLists.write(nbt, DYNAMAX_TYPES, model.getDynamaxTypes());
 
         return nbt;
     }
 
     /**
      * Deserializes a {@link CobblemonTaskModel} from NBT format.
-     * Automatically detects and migrates v1 (legacy) format to v2.
+     * Automatically detects and migrates v1 (legacy) and v2 formats to v3.
      *
      * @param nbt      the NBT compound tag to deserialize
      * @param provider the holder lookup provider for registry access
@@ -168,7 +165,7 @@ public final class TaskModelSerializer {
             return fromNbtV1(nbt);
         }
 
-        return fromNbtV2(nbt);
+        return fromNbtV3(nbt);
     }
 
     /**
@@ -182,59 +179,61 @@ public final class TaskModelSerializer {
     }
 
     /**
-     * Deserializes from v2 format (current).
+     * Deserializes from v3 format (current). Also reads v2, which only differs in storing lists
+     * as comma-joined strings.
      */
-    private static CobblemonTaskModel fromNbtV2(CompoundTag nbt) {
+    private static CobblemonTaskModel fromNbtV3(CompoundTag nbt) {
         return CobblemonTaskModel.builder()
-                .actions(readList(nbt.getString(ACTIONS)))
+                .actions(NbtLists.read(nbt, ACTIONS))
                 .amount(nbt.getLong(AMOUNT))
                 .shiny(nbt.getBoolean(SHINY))
-                .pokemons(readList(nbt.getString(POKEMONS)))
-                .pokemonTypes(readList(nbt.getString(POKEMON_TYPES)))
-                .natures(readList(nbt.getString(NATURES)))
-                .regions(readList(nbt.getString(REGIONS)))
-                .genders(readList(nbt.getString(GENDERS)))
-                .forms(readList(nbt.getString(FORMS)))
-                .biomes(readList(nbt.getString(BIOMES)))
-                .dimensions(readList(nbt.getString(DIMENSIONS)))
-                .pokeBallsUsed(readList(nbt.getString(POKE_BALLS_USED)))
+                .pokemons(NbtLists.read(nbt, POKEMONS))
+                .pokemonTypes(NbtLists.read(nbt, POKEMON_TYPES))
+                .natures(NbtLists.read(nbt, NATURES))
+                .regions(NbtLists.read(nbt, REGIONS))
+                .genders(NbtLists.read(nbt, GENDERS))
+                .forms(NbtLists.read(nbt, FORMS))
+                .biomes(NbtLists.read(nbt, BIOMES))
+                .dimensions(NbtLists.read(nbt, DIMENSIONS))
+                .pokeBallsUsed(NbtLists.read(nbt, POKE_BALLS_USED))
                 .timeMin(nbt.getLong(TIME_MIN))
                 .timeMax(nbt.getLong(TIME_MAX))
                 .minLevel(nbt.getInt(MIN_LEVEL))
                 .maxLevel(nbt.getInt(MAX_LEVEL))
                 .dexProgress(nbt.getString(DEX_PROGRESS))
-                .teraTypes(readList(nbt.getString(TERA_TYPES)))
-                .megaForms(readList(nbt.getString(MEGA_FORMS)))
-                .zCrystals(readList(nbt.getString(Z_CRYSTALS)))
-                .dynamaxTypes(readList(nbt.getString(DYNAMAX_TYPES)))
+                .teraTypes(NbtLists.read(nbt, TERA_TYPES))
+                .megaForms(NbtLists.read(nbt, MEGA_FORMS))
+                .zCrystals(NbtLists.read(nbt, Z_CRYSTALS))
+                .dynamaxTypes(NbtLists.read(nbt, DYNAMAX_TYPES))
                 .build();
     }
 
     /**
      * Deserializes from v1 format (legacy CobblemonTask) with migration.
-     * Handles legacy field names and applies normalization.
+     * Handles legacy field names and applies normalization. Lists may be comma-joined strings or,
+     * as written by current CobblemonTask versions, string lists.
      */
     private static CobblemonTaskModel fromNbtV1(CompoundTag nbt) {
         CobblemonTaskModel.Builder builder = CobblemonTaskModel.builder();
 
         // Read v1 fields with legacy names
-        builder.actions(readList(nbt.getString(V1_ACTION)));
+        builder.actions(NbtLists.read(nbt, V1_ACTION));
         builder.shiny(nbt.getBoolean(SHINY));
-        builder.pokemonTypes(readList(nbt.getString(V1_POKEMON_TYPE)));
-        builder.natures(readList(nbt.getString(V1_NATURES)));
-        builder.regions(readList(nbt.getString(V1_REGION)));
-        builder.genders(readList(nbt.getString(V1_GENDER)));
-        builder.biomes(readList(nbt.getString(V1_BIOME)));
-        builder.dimensions(readList(nbt.getString(V1_DIMENSION)));
-        builder.pokeBallsUsed(readList(nbt.getString(V1_POKE_BALL_USED)));
+        builder.pokemonTypes(NbtLists.read(nbt, V1_POKEMON_TYPE));
+        builder.natures(NbtLists.read(nbt, V1_NATURES));
+        builder.regions(NbtLists.read(nbt, V1_REGION));
+        builder.genders(NbtLists.read(nbt, V1_GENDER));
+        builder.biomes(NbtLists.read(nbt, V1_BIOME));
+        builder.dimensions(NbtLists.read(nbt, V1_DIMENSION));
+        builder.pokeBallsUsed(NbtLists.read(nbt, V1_POKE_BALL_USED));
         builder.minLevel(nbt.getInt(V1_MIN_LEVEL));
         builder.maxLevel(nbt.getInt(V1_MAX_LEVEL));
 
         // Gimmick fields
-        builder.teraTypes(readList(nbt.getString(V1_TERA_TYPE)));
-        builder.megaForms(readList(nbt.getString(V1_MEGA_FORM)));
-        builder.zCrystals(readList(nbt.getString(V1_Z_CRYSTAL)));
-        builder.dynamaxTypes(readList(nbt.getString(V1_DYNAMAX_TYPE)));
+        builder.teraTypes(NbtLists.read(nbt, V1_TERA_TYPE));
+        builder.megaForms(NbtLists.read(nbt, V1_MEGA_FORM));
+        builder.zCrystals(NbtLists.read(nbt, V1_Z_CRYSTAL));
+        builder.dynamaxTypes(NbtLists.read(nbt, V1_DYNAMAX_TYPE));
 
         // Handle amount with legacy "value" alias
         long amount = nbt.getLong(AMOUNT);
@@ -247,15 +246,15 @@ public final class TaskModelSerializer {
         builder.amount(amount);
 
         // Handle pokemons with legacy "entity" alias
-        ArrayList<String> pokemons = readList(nbt.getString(V1_POKEMON));
+        ArrayList<String> pokemons = NbtLists.read(nbt, V1_POKEMON);
         if (pokemons.isEmpty() && nbt.contains(V1_ENTITY)) {
-            pokemons = readList(nbt.getString(V1_ENTITY));
+            pokemons = NbtLists.read(nbt, V1_ENTITY);
         }
         pokemons.remove("minecraft:");
         builder.pokemons(pokemons);
 
         // Handle forms with normalization
-        ArrayList<String> forms = readList(nbt.getString(V1_FORM));
+        ArrayList<String> forms = NbtLists.read(nbt, V1_FORM);
         forms.replaceAll(form -> FORM_REPLACEMENTS.getOrDefault(form, form));
         builder.forms(forms);
 
@@ -282,34 +281,13 @@ public final class TaskModelSerializer {
 
     /**
      * Serializes a {@link CobblemonTaskModel} to a network buffer for client-server sync.
+     * Uses the same encoding as {@code CobblemonTask}; see {@link TaskNetCodec}.
      *
      * @param model the model to serialize
      * @param buf   the registry-friendly byte buffer to write to
      */
     public static void toNetworkBuffer(CobblemonTaskModel model, RegistryFriendlyByteBuf buf) {
-        // Write in a fixed order matching the read order
-        buf.writeLong(model.getAmount());
-        buf.writeBoolean(model.isShiny());
-        buf.writeLong(model.getTimeMin());
-        buf.writeLong(model.getTimeMax());
-        buf.writeUtf(writeList(model.getPokemons()), Short.MAX_VALUE);
-        buf.writeUtf(writeList(model.getActions()), Short.MAX_VALUE);
-        buf.writeUtf(writeList(model.getBiomes()), Short.MAX_VALUE);
-        buf.writeUtf(writeList(model.getDimensions()), Short.MAX_VALUE);
-        buf.writeUtf(writeList(model.getForms()), Short.MAX_VALUE);
-        buf.writeUtf(writeList(model.getGenders()), Short.MAX_VALUE);
-        buf.writeUtf(writeList(model.getPokeBallsUsed()), Short.MAX_VALUE);
-        buf.writeUtf(writeList(model.getPokemonTypes()), Short.MAX_VALUE);
-        buf.writeUtf(writeList(model.getRegions()), Short.MAX_VALUE);
-        buf.writeUtf(writeList(model.getNatures()), Short.MAX_VALUE);
-        buf.writeInt(model.getMinLevel());
-        buf.writeInt(model.getMaxLevel());
-        buf.writeUtf(model.getDexProgress(), Short.MAX_VALUE);
-        // Gimmick-specific fields
-        buf.writeUtf(writeList(model.getTeraTypes()), Short.MAX_VALUE);
-        buf.writeUtf(writeList(model.getMegaForms()), Short.MAX_VALUE);
-        buf.writeUtf(writeList(model.getZCrystals()), Short.MAX_VALUE);
-        buf.writeUtf(writeList(model.getDynamaxTypes()), Short.MAX_VALUE);
+        TaskNetCodec.STREAM_CODEC.encode(buf, model);
     }
 
     /**
@@ -319,86 +297,6 @@ public final class TaskModelSerializer {
      * @return the deserialized CobblemonTaskModel
      */
     public static CobblemonTaskModel fromNetworkBuffer(RegistryFriendlyByteBuf buf) {
-        // Read in the same fixed order as write
-        long amount = buf.readLong();
-        boolean shiny = buf.readBoolean();
-        long timeMin = buf.readLong();
-        long timeMax = buf.readLong();
-        ArrayList<String> pokemons = readList(buf.readUtf(Short.MAX_VALUE));
-        ArrayList<String> actions = readList(buf.readUtf(Short.MAX_VALUE));
-        ArrayList<String> biomes = readList(buf.readUtf(Short.MAX_VALUE));
-        ArrayList<String> dimensions = readList(buf.readUtf(Short.MAX_VALUE));
-        ArrayList<String> forms = readList(buf.readUtf(Short.MAX_VALUE));
-        ArrayList<String> genders = readList(buf.readUtf(Short.MAX_VALUE));
-        ArrayList<String> pokeBallsUsed = readList(buf.readUtf(Short.MAX_VALUE));
-        ArrayList<String> pokemonTypes = readList(buf.readUtf(Short.MAX_VALUE));
-        ArrayList<String> regions = readList(buf.readUtf(Short.MAX_VALUE));
-        ArrayList<String> natures = readList(buf.readUtf(Short.MAX_VALUE));
-        int minLevel = buf.readInt();
-        int maxLevel = buf.readInt();
-        String dexProgress = buf.readUtf(Short.MAX_VALUE);
-        // Gimmick-specific fields
-        ArrayList<String> teraTypes = readList(buf.readUtf(Short.MAX_VALUE));
-        ArrayList<String> megaForms = readList(buf.readUtf(Short.MAX_VALUE));
-        ArrayList<String> zCrystals = readList(buf.readUtf(Short.MAX_VALUE));
-        ArrayList<String> dynamaxTypes = readList(buf.readUtf(Short.MAX_VALUE));
-
-        return CobblemonTaskModel.builder()
-                .amount(amount)
-                .shiny(shiny)
-                .timeMin(timeMin)
-                .timeMax(timeMax)
-                .pokemons(pokemons)
-                .actions(actions)
-                .biomes(biomes)
-                .dimensions(dimensions)
-                .forms(forms)
-                .genders(genders)
-                .pokeBallsUsed(pokeBallsUsed)
-                .pokemonTypes(pokemonTypes)
-                .regions(regions)
-                .natures(natures)
-                .minLevel(minLevel)
-                .maxLevel(maxLevel)
-                .dexProgress(dexProgress)
-                .teraTypes(teraTypes)
-                .megaForms(megaForms)
-                .zCrystals(zCrystals)
-                .dynamaxTypes(dynamaxTypes)
-                .build();
-    }
-
-    // ===== Helper Methods =====
-
-    /**
-     * Parses a comma-separated string into a list of distinct, non-empty values.
-     * Filters out empty strings and "choice_any" placeholder values.
-     *
-     * @param s the comma-separated string to parse
-     * @return an ArrayList of trimmed, distinct, non-empty values
-     */
-    private static ArrayList<String> readList(String s) {
-        if (s == null || s.isEmpty()) {
-            return new ArrayList<>();
-        }
-        return Arrays.stream(s.split(","))
-                .map(String::trim)
-                .filter(obj -> !obj.isEmpty() && !obj.contains("choice_any"))
-                .distinct()
-                .collect(Collectors.toCollection(ArrayList::new));
-    }
-
-    /**
-     * Joins a list of strings into a comma-separated string.
-     * Filters out null values before joining.
-     *
-     * @param list the list of strings to join
-     * @return a comma-separated string of non-null values
-     */
-    private static String writeList(List<String> list) {
-        if (list == null || list.isEmpty()) {
-            return "";
-        }
-        return String.join(",", list.stream().filter(Objects::nonNull).toList());
+        return TaskNetCodec.STREAM_CODEC.decode(buf);
     }
 }
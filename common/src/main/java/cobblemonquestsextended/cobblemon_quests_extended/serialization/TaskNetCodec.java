@@ -0,0 +1,419 @@
+package cobblemonquestsextended.cobblemon_quests_extended.serialization;
+
+import cobblemonquestsextended.cobblemon_quests_extended.CobblemonQuests;
+import cobblemonquestsextended.cobblemon_quests_extended.model.CobblemonTaskModel;
+import cobblemonquestsextended.cobblemon_quests_extended.tasks.TaskData;
+import io.netty.handler.codec.DecoderException;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.codec.StreamCodec;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Compact network encoding of the conditions of a Cobblemon task, shared by
+ * {@link cobblemonquestsextended.cobblemon_quests_extended.tasks.CobblemonTask} and
+ * {@link TaskModelSerializer}.
+ *
+ * <p>Layout:</p>
+ * <ul>
+ *     <li>A checksum of the static palette as an int, see below.</li>
+ *     <li>A varint header with one bit per field that differs from its default. Fields left at
+ *     their default (no shiny, amount 1, the whole day, no level range, "seen", empty lists) are
+ *     not written at all.</li>
+ *     <li>Numbers as varints, lists as a varint count followed by string references.</li>
+ *     <li>Strings as palette references: values known to the mod (actions, types, regions, forms,
+ *     gimmicks, vanilla dimensions and the common namespaces) are sent as a small id. Other values
+ *     are sent once per task and referred to by id afterwards; namespaced ids such as
+ *     "cobblemon:pikachu" send the namespace as its own reference.</li>
+ * </ul>
+ *
+ * <p>{@link Patch} uses the same layout for edits: the header holds the fields that changed
+ * instead of those that differ from the default, and shiny carries its new value.</p>
+ *
+ * <p>The static palette is derived from {@link TaskData}, so its ids shift whenever those lists
+ * change. Client and server running different mod versions would silently read other values for
+ * the same ids; the checksum lets the decoder reject such a task instead.</p>
+ */
+public final class TaskNetCodec {
+
+    public static final StreamCodec<FriendlyByteBuf, CobblemonTaskModel> STREAM_CODEC = StreamCodec.of(TaskNetCodec::encode, TaskNetCodec::decode);
+
+    // Header bits
+    private static final int SHINY = 1;
+    private static final int AMOUNT = 1 << 1;
+    private static final int TIME = 1 << 2;
+    private static final int LEVEL = 1 << 3;
+    private static final int DEX_PROGRESS = 1 << 4;
+    private static final int FIRST_LIST = 5;
+    private static final int LIST_COUNT = 14;
+    private static final int ALL_FIELDS = (1 << (FIRST_LIST + LIST_COUNT)) - 1;
+
+    // String reference kinds; palette ids follow
+    private static final int LITERAL = 0;
+    private static final int NAMESPACED = 1;
+    private static final int FIRST_PALETTE_ID = 2;
+
+    private static final CobblemonTaskModel DEFAULTS = CobblemonTaskModel.builder().build();
+
+    /**
+     * Builder setters of the list fields, in wire order. Must match {@link #lists}.
+     */
+    private static final List<BiConsumer<CobblemonTaskModel.Builder, List<String>>> LIST_SETTERS = List.of(
+            CobblemonTaskModel.Builder::actions,
+            CobblemonTaskModel.Builder::pokemons,
+            CobblemonTaskModel.Builder::pokemonTypes,
+            CobblemonTaskModel.Builder::natures,
+            CobblemonTaskModel.Builder::regions,
+            CobblemonTaskModel.Builder::genders,
+            CobblemonTaskModel.Builder::forms,
+            CobblemonTaskModel.Builder::biomes,
+            CobblemonTaskModel.Builder::dimensions,
+            CobblemonTaskModel.Builder::pokeBallsUsed,
+            CobblemonTaskModel.Builder::teraTypes,
+            CobblemonTaskModel.Builder::megaForms,
+            CobblemonTaskModel.Builder::zCrystals,
+            CobblemonTaskModel.Builder::dynamaxTypes
+    );
+
+    static {
+        // A list missing from either side would silently never be synced
+        if (LIST_SETTERS.size() != LIST_COUNT || lists(DEFAULTS).size() != LIST_COUNT) {
+            throw new IllegalStateException("TaskNetCodec lists out of sync: LIST_COUNT " + LIST_COUNT + ", LIST_SETTERS "
+                    + LIST_SETTERS.size() + ", lists() " + lists(DEFAULTS).size());
+        }
+        if (FIRST_LIST + LIST_COUNT > Integer.SIZE - 1) {
+            throw new IllegalStateException("TaskNetCodec header has no bits left for " + LIST_COUNT + " lists");
+        }
+    }
+
+    private static final String[] STATIC_PALETTE = buildStaticPalette();
+    private static final Map<String, Integer> STATIC_IDS = index(STATIC_PALETTE);
+    // String hash codes are specified, so this is stable across JVMs
+    private static final int PALETTE_CHECKSUM = Arrays.hashCode(STATIC_PALETTE);
+
+    private TaskNetCodec() {
+        // Utility class
+    }
+
+    /**
+     * Writes the model to the buffer.
+     *
+     * @param buf   the buffer to write to
+     * @param model the model to write
+     */
+    public static void encode(FriendlyByteBuf buf, CobblemonTaskModel model) {
+        buf.writeInt(PALETTE_CHECKSUM);
+        // Fields that differ from the defaults are exactly the header bits; shiny needs no value
+        writeFields(buf, changedFields(DEFAULTS, model), model, false);
+    }
+
+    /**
+     * Reads a model written by {@link #encode}.
+     *
+     * @param buf the buffer to read from
+     * @return the decoded model
+     * @throws DecoderException if the model was written with a different static palette
+     */
+    public static CobblemonTaskModel decode(FriendlyByteBuf buf) {
+        checkPalette(buf);
+        int header = buf.readVarInt();
+        return readFields(buf, header, false).shiny((header & SHINY) != 0).build();
+    }
+
+    /**
+     * Computes the fields that changed between two versions of a task.
+     *
+     * @param from the conditions before the edit
+     * @param to   the conditions after the edit
+     * @return a patch carrying only the changed fields, empty if nothing changed
+     */
+    public static Patch diff(CobblemonTaskModel from, CobblemonTaskModel to) {
+        return new Patch(changedFields(from, to), to);
+    }
+
+    private static void encodePatch(FriendlyByteBuf buf, Patch patch) {
+        buf.writeInt(PALETTE_CHECKSUM);
+        writeFields(buf, patch.fields(), patch.values(), true);
+    }
+
+    private static Patch decodePatch(FriendlyByteBuf buf) {
+        checkPalette(buf);
+        int fields = buf.readVarInt();
+        return new Patch(fields, readFields(buf, fields, true).build());
+    }
+
+    private static void checkPalette(FriendlyByteBuf buf) {
+        int checksum = buf.readInt();
+        if (checksum != PALETTE_CHECKSUM) {
+            throw new DecoderException("Cobblemon task sent with a different value palette (checksum " + checksum + ", expected "
+                    + PALETTE_CHECKSUM + "); client and server must run the same version of " + CobblemonQuests.MOD_ID);
+        }
+    }
+
+    private static int changedFields(CobblemonTaskModel from, CobblemonTaskModel to) {
+        int fields = 0;
+        if (from.isShiny() != to.isShiny()) fields |= SHINY;
+        if (from.getAmount() != to.getAmount()) fields |= AMOUNT;
+        if (from.getTimeMin() != to.getTimeMin() || from.getTimeMax() != to.getTimeMax()) fields |= TIME;
+        if (from.getMinLevel() != to.getMinLevel() || from.getMaxLevel() != to.getMaxLevel()) fields |= LEVEL;
+        if (!from.getDexProgress().equals(to.getDexProgress())) fields |= DEX_PROGRESS;
+        List<List<String>> fromLists = lists(from);
+        List<List<String>> toLists = lists(to);
+        for (int i = 0; i < LIST_COUNT; i++) {
+            if (!fromLists.get(i).equals(toLists.get(i))) fields |= 1 << (FIRST_LIST + i);
+        }
+        return fields;
+    }
+
+    private static void writeFields(FriendlyByteBuf buf, int fields, CobblemonTaskModel model, boolean shinyValue) {
+        buf.writeVarInt(fields);
+        if (shinyValue && (fields & SHINY) != 0) buf.writeBoolean(model.isShiny());
+        if ((fields & AMOUNT) != 0) buf.writeVarLong(model.getAmount());
+        if ((fields & TIME) != 0) {
+            buf.writeVarLong(model.getTimeMin());
+            buf.writeVarLong(model.getTimeMax());
+        }
+        if ((fields & LEVEL) != 0) {
+            buf.writeVarInt(model.getMinLevel());
+            buf.writeVarInt(model.getMaxLevel());
+        }
+        Writer writer = new Writer(buf);
+        if ((fields & DEX_PROGRESS) != 0) writer.string(model.getDexProgress());
+        List<List<String>> lists = lists(model);
+        for (int i = 0; i < LIST_COUNT; i++) {
+            if ((fields & (1 << (FIRST_LIST + i))) == 0) continue;
+            List<String> list = lists.get(i);
+            buf.writeVarInt(list.size());
+            for (String value : list) {
+                writer.string(value);
+            }
+        }
+    }
+
+    private static CobblemonTaskModel.Builder readFields(FriendlyByteBuf buf, int fields, boolean shinyValue) {
+        if ((fields & ~ALL_FIELDS) != 0) {
+            throw new DecoderException("Unknown task fields " + Integer.toHexString(fields));
+        }
+        CobblemonTaskModel.Builder builder = CobblemonTaskModel.builder();
+        if (shinyValue && (fields & SHINY) != 0) builder.shiny(buf.readBoolean());
+        if ((fields & AMOUNT) != 0) builder.amount(buf.readVarLong());
+        if ((fields & TIME) != 0) {
+            builder.timeMin(buf.readVarLong());
+            builder.timeMax(buf.readVarLong());
+        }
+        if ((fields & LEVEL) != 0) {
+            builder.minLevel(buf.readVarInt());
+            builder.maxLevel(buf.readVarInt());
+        }
+        Reader reader = new Reader(buf);
+        if ((fields & DEX_PROGRESS) != 0) builder.dexProgress(reader.string());
+        for (int i = 0; i < LIST_COUNT; i++) {
+            if ((fields & (1 << (FIRST_LIST + i))) == 0) continue;
+            int size = buf.readVarInt();
+            // Every value takes at least one byte, which also bounds the allocation below
+            if (size < 0 || size > buf.readableBytes()) {
+                throw new DecoderException("Invalid list size " + size);
+            }
+            List<String> list = new ArrayList<>(size);
+            for (int j = 0; j < size; j++) {
+                list.add(reader.string());
+            }
+            LIST_SETTERS.get(i).accept(builder, list);
+        }
+        return builder;
+    }
+
+    /**
+     * The list fields in wire order. Must match {@link #LIST_SETTERS}.
+     */
+    private static List<List<String>> lists(CobblemonTaskModel model) {
+        return List.of(
+                model.getActions(),
+                model.getPokemons(),
+                model.getPokemonTypes(),
+                model.getNatures(),
+                model.getRegions(),
+                model.getGenders(),
+                model.getForms(),
+                model.getBiomes(),
+                model.getDimensions(),
+                model.getPokeBallsUsed(),
+                model.getTeraTypes(),
+                model.getMegaForms(),
+                model.getZCrystals(),
+                model.getDynamaxTypes()
+        );
+    }
+
+    /**
+     * A set of changed fields together with their new values. Fields outside {@link #fields()}
+     * are left at their defaults in {@link #values()} and must not be read.
+     *
+     * @param fields the changed fields, as header bits
+     * @param values a model holding the new values of the changed fields
+     */
+    public record Patch(int fields, CobblemonTaskModel values) {
+
+        public static final StreamCodec<FriendlyByteBuf, Patch> STREAM_CODEC = StreamCodec.of(TaskNetCodec::encodePatch, TaskNetCodec::decodePatch);
+
+        /**
+         * @return true if the patch changes nothing
+         */
+        public boolean isEmpty() {
+            return fields == 0;
+        }
+
+        /**
+         * Applies the changed fields on top of the given conditions.
+         *
+         * @param base the conditions to patch
+         * @return the patched conditions
+         */
+        public CobblemonTaskModel applyTo(CobblemonTaskModel base) {
+            CobblemonTaskModel.Builder builder = base.toBuilder();
+            if ((fields & SHINY) != 0) builder.shiny(values.isShiny());
+            if ((fields & AMOUNT) != 0) builder.amount(values.getAmount());
+            if ((fields & TIME) != 0) {
+                builder.timeMin(values.getTimeMin());
+                builder.timeMax(values.getTimeMax());
+            }
+            if ((fields & LEVEL) != 0) {
+                builder.minLevel(values.getMinLevel());
+                builder.maxLevel(values.getMaxLevel());
+            }
+            if ((fields & DEX_PROGRESS) != 0) builder.dexProgress(values.getDexProgress());
+            List<List<String>> lists = lists(values);
+            for (int i = 0; i < LIST_COUNT; i++) {
+                if ((fields & (1 << (FIRST_LIST + i))) != 0) LIST_SETTERS.get(i).accept(builder, lists.get(i));
+            }
+            return builder.build();
+        }
+    }
+
+    /**
+     * Writes string references, assigning ids to values not in the static palette in the order
+     * they are first written.
+     */
+    private static final class Writer {
+        private final FriendlyByteBuf buf;
+        private final Map<String, Integer> dynamic = new HashMap<>();
+
+        Writer(FriendlyByteBuf buf) {
+            this.buf = buf;
+        }
+
+        void string(String value) {
+            Integer id = STATIC_IDS.get(value);
+            if (id == null) {
+                id = dynamic.get(value);
+                if (id != null) {
+                    id += STATIC_PALETTE.length;
+                }
+            }
+            if (id != null) {
+                buf.writeVarInt(FIRST_PALETTE_ID + id);
+                return;
+            }
+            int colon = value.indexOf(':');
+            if (colon > 0) {
+                buf.writeVarInt(NAMESPACED);
+                string(value.substring(0, colon));
+                buf.writeUtf(value.substring(colon + 1), Short.MAX_VALUE);
+            } else {
+                buf.writeVarInt(LITERAL);
+                buf.writeUtf(value, Short.MAX_VALUE);
+            }
+            dynamic.put(value, dynamic.size());
+        }
+    }
+
+    /**
+     * Mirrors {@link Writer}: values read as literals are appended to the dynamic palette in the
+     * same order.
+     *
+     * <p>Task data is decoded before the sender's permissions are checked, so malformed input from
+     * any player is rejected with a {@link DecoderException}: references are bounds-checked and a
+     * namespace, which the writer never sends namespaced, is read without recursing.</p>
+     */
+    private static final class Reader {
+        private final FriendlyByteBuf buf;
+        private final List<String> dynamic = new ArrayList<>();
+
+        Reader(FriendlyByteBuf buf) {
+            this.buf = buf;
+        }
+
+        String string() {
+            int ref = buf.readVarInt();
+            String value;
+            if (ref == LITERAL) {
+                value = buf.readUtf(Short.MAX_VALUE);
+            } else if (ref == NAMESPACED) {
+                String namespace = namespace();
+                value = namespace + ":" + buf.readUtf(Short.MAX_VALUE);
+            } else {
+                return palette(ref);
+            }
+            dynamic.add(value);
+            return value;
+        }
+
+        private String namespace() {
+            int ref = buf.readVarInt();
+            if (ref == NAMESPACED) {
+                throw new DecoderException("Namespaced string reference inside a namespace");
+            }
+            if (ref != LITERAL) {
+                return palette(ref);
+            }
+            String namespace = buf.readUtf(Short.MAX_VALUE);
+            dynamic.add(namespace);
+            return namespace;
+        }
+
+        private String palette(int ref) {
+            int id = ref - FIRST_PALETTE_ID;
+            if (id < 0 || id >= STATIC_PALETTE.length + dynamic.size()) {
+                throw new DecoderException("Unknown string reference " + ref);
+            }
+            return id < STATIC_PALETTE.length ? STATIC_PALETTE[id] : dynamic.get(id - STATIC_PALETTE.length);
+        }
+    }
+
+    private static String[] buildStaticPalette() {
+        Set<String> values = new LinkedHashSet<>();
+        values.add("minecraft");
+        values.add("cobblemon");
+        values.add("minecraft:overworld");
+        values.add("minecraft:the_nether");
+        values.add("minecraft:the_end");
+        values.add("seen");
+        values.add("caught");
+        values.addAll(TaskData.actionList);
+        values.addAll(TaskData.genderList);
+        values.addAll(TaskData.pokemonTypeList);
+        values.addAll(TaskData.regionList);
+        values.addAll(TaskData.formList);
+        values.addAll(TaskData.teraTypeList);
+        values.addAll(TaskData.megaFormList);
+        values.addAll(TaskData.zCrystalList);
+        values.addAll(TaskData.dynamaxTypeList);
+        values.remove("");
+        return values.toArray(new String[0]);
+    }
+
+    private static Map<String, Integer> index(String[] palette) {
+        Map<String, Integer> ids = new HashMap<>(palette.length * 2);
+        for (int i = 0; i < palette.length; i++) {
+            ids.put(palette[i], i);
+        }
+        return Map.copyOf(ids);
+    }
+}
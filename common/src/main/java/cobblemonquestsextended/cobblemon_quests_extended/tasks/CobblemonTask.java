@@ -3,13 +3,9 @@ package cobblemonquestsextended.cobblemon_quests_extended.tasks;
 import com.cobblemon.mod.common.CobblemonItemComponents;
 import com.cobblemon.mod.common.api.pokeball.PokeBalls;
 import com.cobblemon.mod.common.api.pokedex.PokedexEntryProgress;
-import com.cobblemon.mod.common.api.pokedex.PokedexManager;
 import com.cobblemon.mod.common.api.pokedex.SpeciesDexRecord;
-import com.cobblemon.mod.common.api.pokemon.PokemonSpecies;
-import com.cobblemon.mod.common.api.types.ElementalType;
 import com.cobblemon.mod.common.item.components.PokemonItemComponent;
-import com.cobblemon.mod.common.pokemon.Pokemon;
-import com.cobblemon.mod.common.pokemon.Species;
+import cobblemonquestsextended.cobblemon_quests_extended.CobblemonQuests;
 import cobblemonquestsextended.cobblemon_quests_extended.client.config.ConfigActionType;
 import cobblemonquestsextended.cobblemon_quests_extended.client.config.ConfigBiomeType;
 import cobblemonquestsextended.cobblemon_quests_extended.client.config.ConfigDimensionType;
@@ -24,16 +20,30 @@ import cobblemonquestsextended.cobblemon_quests_extended.client.config.ConfigReg
 import cobblemonquestsextended.cobblemon_quests_extended.client.config.ConfigTeraType;
 import cobblemonquestsextended.cobblemon_quests_extended.client.config.ConfigTypeSelector;
 import cobblemonquestsextended.cobblemon_quests_extended.client.config.ConfigZCrystalType;
+import cobblemonquestsextended.cobblemon_quests_extended.engine.ConditionNetwork;
+import cobblemonquestsextended.cobblemon_quests_extended.engine.Interner;
+import cobblemonquestsextended.cobblemon_quests_extended.engine.PokemonFacts;
+import cobblemonquestsextended.cobblemon_quests_extended.engine.ProgressSink;
+import cobblemonquestsextended.cobblemon_quests_extended.engine.SpeciesTable;
+import cobblemonquestsextended.cobblemon_quests_extended.model.CobblemonTaskModel;
+import cobblemonquestsextended.cobblemon_quests_extended.net.EditTaskPatchMessage;
+import cobblemonquestsextended.cobblemon_quests_extended.serialization.CommaLists;
+import cobblemonquestsextended.cobblemon_quests_extended.serialization.NbtLists;
+import cobblemonquestsextended.cobblemon_quests_extended.serialization.TaskNetCodec;
+import cobblemonquestsextended.cobblemon_quests_extended.tasks.filter.TaskFilter;
+import cobblemonquestsextended.cobblemon_quests_extended.tasks.filter.TaskFilters;
 import dev.architectury.networking.NetworkManager;
 import dev.ftb.mods.ftblibrary.config.ConfigGroup;
 import dev.ftb.mods.ftblibrary.config.NameMap;
 import dev.ftb.mods.ftblibrary.icon.Icon;
 import dev.ftb.mods.ftblibrary.icon.ItemIcon;
+import dev.ftb.mods.ftbquests.events.QuestProgressEventData;
 import dev.ftb.mods.ftbquests.net.EditObjectMessage;
 import dev.ftb.mods.ftbquests.quest.Quest;
 import dev.ftb.mods.ftbquests.quest.TeamData;
 import dev.ftb.mods.ftbquests.quest.task.Task;
 import dev.ftb.mods.ftbquests.quest.task.TaskType;
+import dev.ftb.mods.ftbquests.util.ProgressChange;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.core.HolderLookup;
@@ -42,15 +52,11 @@ import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.RegistryFriendlyByteBuf;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
-import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.level.Level;
 import org.joml.Vector4f;
-import cobblemonquestsextended.cobblemon_quests_extended.config.CobblemonQuestsConfig;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 import static cobblemonquestsextended.cobblemon_quests_extended.CobblemonQuests.MOD_ID;
 import static cobblemonquestsextended.cobblemon_quests_extended.tasks.TaskData.*;
@@ -64,21 +70,28 @@ public class CobblemonTask extends Task {
     public int minLevel = 0;
     public int maxLevel = 0;
     public String dexProgress = "seen";
-    public ArrayList<String> actions = new ArrayList<>();
-    public ArrayList<String> biomes = new ArrayList<>();
-    public ArrayList<String> dimensions = new ArrayList<>();
-    public ArrayList<String> forms = new ArrayList<>();
-    public ArrayList<String> genders = new ArrayList<>();
-    public ArrayList<String> pokeBallsUsed = new ArrayList<>();
-    public ArrayList<String> pokemons = new ArrayList<>();
-    public ArrayList<String> pokemonTypes = new ArrayList<>();
-    public ArrayList<String> regions = new ArrayList<>();
-    public ArrayList<String> natures = new ArrayList<>();
+    // Filter lists are shared immutable instances from Interner.internList once the task is read;
+    // fillConfigGroup swaps in mutable copies for editing. Other code must assign a new list and
+    // call compileFilters() rather than modify them in place
+    public List<String> actions = new ArrayList<>();
+    public List<String> biomes = List.of();
+    public List<String> dimensions = List.of();
+    public List<String> forms = List.of();
+    public List<String> genders = List.of();
+    public List<String> pokeBallsUsed = List.of();
+    public List<String> pokemons = List.of();
+    public List<String> pokemonTypes = List.of();
+    public List<String> regions = List.of();
+    public List<String> natures = List.of();
     // New condition fields for extended features
-    public ArrayList<String> teraTypes = new ArrayList<>();
-    public ArrayList<String> megaForms = new ArrayList<>();
-    public ArrayList<String> zCrystals = new ArrayList<>();
-    public ArrayList<String> dynamaxTypes = new ArrayList<>();
+    public List<String> teraTypes = List.of();
+    public List<String> megaForms = List.of();
+    public List<String> zCrystals = List.of();
+    public List<String> dynamaxTypes = List.of();
+
+    // Compiled conditions checked by increase(), rebuilt whenever the task data is read
+    // Volatile so matching workers see filters compiled on the server thread
+    private volatile TaskFilter[] filters = null;
 
     // Static sets for field visibility rules (Phase 2)
     private static final Set<String> CATCH_BATTLE_ACTIONS = Set.of(
@@ -106,6 +119,18 @@ public class CobblemonTask extends Task {
         return amount;
     }
 
+    @Override
+    public void onCompleted(QuestProgressEventData<?> data) {
+        super.onCompleted(data);
+        CobblemonQuests.eventHandler.onTaskCompleted(data.getTeamData(), this);
+    }
+
+    @Override
+    public void forceProgress(TeamData teamData, ProgressChange progressChange) {
+        super.forceProgress(teamData, progressChange);
+        CobblemonQuests.eventHandler.onTaskProgressForced(teamData, this);
+    }
+
     @Override
     public void writeData(CompoundTag nbt, HolderLookup.Provider provider) {
         super.writeData(nbt, provider);
@@ -113,24 +138,24 @@ public class CobblemonTask extends Task {
         nbt.putBoolean("shiny", shiny);
         nbt.putLong("time_min", timeMin);
         nbt.putLong("time_max", timeMax);
-        nbt.putString("action", writeList(actions));
-        nbt.putString("biome", writeList(biomes));
-        nbt.putString("dimension", writeList(dimensions));
-        nbt.putString("pokemon", writeList(pokemons));
-        nbt.putString("form", writeList(forms));
-        nbt.putString("gender", writeList(genders));
-        nbt.putString("poke_ball_used", writeList(pokeBallsUsed));
-        nbt.putString("pokemon_type", writeList(pokemonTypes));
-        nbt.putString("region", writeList(regions));
-        nbt.putString("natures", writeList(natures));
+        NbtLists.write(nbt, "action", actions);
+        NbtLists.write(nbt, "biome", biomes);
+        NbtLists.write(nbt, "dimension", dimensions);
+        NbtLists.write(nbt, "pokemon", pokemons);
+        NbtLists.write(nbt, "form", forms);
+        NbtLists.write(nbt, "gender", genders);
+        NbtLists.write(nbt, "poke_ball_used", pokeBallsUsed);
+        NbtLists.write(nbt, "pokemon_type", pokemonTypes);
+        NbtLists.write(nbt, "region", regions);
+        NbtLists.write(nbt, "natures", natures);
         nbt.putInt("min_level", minLevel);
         nbt.putInt("max_level", maxLevel);
         nbt.putString("dex_progress", dexProgress);
         // New extended condition fields
-        nbt.putString("tera_type", writeList(teraTypes));
-        nbt.putString("mega_form", writeList(megaForms));
-        nbt.putString("z_crystal", writeList(zCrystals));
-        nbt.putString("dynamax_type", writeList(dynamaxTypes));
+        NbtLists.write(nbt, "tera_type", teraTypes);
+        NbtLists.write(nbt, "mega_form", megaForms);
+        NbtLists.write(nbt, "z_crystal", zCrystals);
+        NbtLists.write(nbt, "dynamax_type", dynamaxTypes);
     }
 
     @Override
@@ -140,24 +165,24 @@ public class CobblemonTask extends Task {
         shiny = nbt.getBoolean("shiny");
         timeMin = nbt.getLong("time_min");
         timeMax = nbt.getLong("time_max");
-        actions = readList(nbt.getString("action"));
-        biomes = readList(nbt.getString("biome"));
-        dimensions = readList(nbt.getString("dimension"));
-        pokemons = readList(nbt.getString("pokemon"));
-        forms = readList(nbt.getString("form"));
-        genders = readList(nbt.getString("gender"));
-        pokeBallsUsed = readList(nbt.getString("poke_ball_used"));
-        pokemonTypes = readList(nbt.getString("pokemon_type"));
-        regions = readList(nbt.getString("region"));
-        natures = readList(nbt.getString("natures"));
+        actions = NbtLists.read(nbt, "action");
+        biomes = NbtLists.read(nbt, "biome");
+        dimensions = NbtLists.read(nbt, "dimension");
+        pokemons = NbtLists.read(nbt, "pokemon");
+        forms = NbtLists.read(nbt, "form");
+        genders = NbtLists.read(nbt, "gender");
+        pokeBallsUsed = NbtLists.read(nbt, "poke_ball_used");
+        pokemonTypes = NbtLists.read(nbt, "pokemon_type");
+        regions = NbtLists.read(nbt, "region");
+        natures = NbtLists.read(nbt, "natures");
         minLevel = nbt.getInt("min_level");
         maxLevel = nbt.getInt("max_level");
         dexProgress = nbt.getString("dex_progress");
         // New extended condition fields
-        teraTypes = readList(nbt.getString("tera_type"));
-        megaForms = readList(nbt.getString("mega_form"));
-        zCrystals = readList(nbt.getString("z_crystal"));
-        dynamaxTypes = readList(nbt.getString("dynamax_type"));
+        teraTypes = NbtLists.read(nbt, "tera_type");
+        megaForms = NbtLists.read(nbt, "mega_form");
+        zCrystals = NbtLists.read(nbt, "z_crystal");
+        dynamaxTypes = NbtLists.read(nbt, "dynamax_type");
 
         if (!forms.isEmpty()) {
             Map<String, String> formReplacements = Map.of(
@@ -175,7 +200,7 @@ public class CobblemonTask extends Task {
             amount = nbt.getLong("value");
         }
         if (nbt.contains("entity")) {
-            pokemons = readList(nbt.getString("entity"));
+            pokemons = NbtLists.read(nbt, "entity");
         }
         if (amount == 0) {
             amount = 1;
@@ -184,69 +209,152 @@ public class CobblemonTask extends Task {
             dexProgress = "seen";
         }
         pokemons.remove("minecraft:");
+        internLists();
+        compileFilters();
     }
 
     @Override
     public void writeNetData(RegistryFriendlyByteBuf buffer) {
         super.writeNetData(buffer);
-        buffer.writeLong(amount);
-        buffer.writeBoolean(shiny);
-        buffer.writeLong(timeMin);
-        buffer.writeLong(timeMax);
-        buffer.writeUtf(writeList(pokemons), Short.MAX_VALUE);
-        buffer.writeUtf(writeList(actions), Short.MAX_VALUE);
-        buffer.writeUtf(writeList(biomes), Short.MAX_VALUE);
-        buffer.writeUtf(writeList(dimensions), Short.MAX_VALUE);
-        buffer.writeUtf(writeList(forms), Short.MAX_VALUE);
-        buffer.writeUtf(writeList(genders), Short.MAX_VALUE);
-        buffer.writeUtf(writeList(pokeBallsUsed), Short.MAX_VALUE);
-        buffer.writeUtf(writeList(pokemonTypes), Short.MAX_VALUE);
-        buffer.writeUtf(writeList(regions), Short.MAX_VALUE);
-        buffer.writeUtf(writeList(natures), Short.MAX_VALUE);
-        buffer.writeInt(minLevel);
-        buffer.writeInt(maxLevel);
-        buffer.writeUtf(dexProgress, Short.MAX_VALUE);
-        // New extended condition fields
-        buffer.writeUtf(writeList(teraTypes), Short.MAX_VALUE);
-        buffer.writeUtf(writeList(megaForms), Short.MAX_VALUE);
-        buffer.writeUtf(writeList(zCrystals), Short.MAX_VALUE);
-        buffer.writeUtf(writeList(dynamaxTypes), Short.MAX_VALUE);
+        TaskNetCodec.STREAM_CODEC.encode(buffer, toModel());
     }
 
     @Override
     public void readNetData(RegistryFriendlyByteBuf buffer) {
         super.readNetData(buffer);
-        amount = buffer.readLong();
-        shiny = buffer.readBoolean();
-        timeMin = buffer.readLong();
-        timeMax = buffer.readLong();
-        pokemons = readList(buffer.readUtf(Short.MAX_VALUE));
-        actions = readList(buffer.readUtf(Short.MAX_VALUE));
-        biomes = readList(buffer.readUtf(Short.MAX_VALUE));
-        dimensions = readList(buffer.readUtf(Short.MAX_VALUE));
-        forms = readList(buffer.readUtf(Short.MAX_VALUE));
-        genders = readList(buffer.readUtf(Short.MAX_VALUE));
-        pokeBallsUsed = readList(buffer.readUtf(Short.MAX_VALUE));
-        pokemonTypes = readList(buffer.readUtf(Short.MAX_VALUE));
-        regions = readList(buffer.readUtf(Short.MAX_VALUE));
-        natures = readList(buffer.readUtf(Short.MAX_VALUE));
-        minLevel = buffer.readInt();
-        maxLevel = buffer.readInt();
-        dexProgress = buffer.readUtf(Short.MAX_VALUE);
-        // New extended condition fields
-        teraTypes = readList(buffer.readUtf(Short.MAX_VALUE));
-        megaForms = readList(buffer.readUtf(Short.MAX_VALUE));
-        zCrystals = readList(buffer.readUtf(Short.MAX_VALUE));
-        dynamaxTypes = readList(buffer.readUtf(Short.MAX_VALUE));
+        applyModel(TaskNetCodec.STREAM_CODEC.decode(buffer));
+        compileFilters();
     }
 
-    public String writeList(ArrayList<String> list) {
-        list.removeIf(Objects::isNull);
-        return String.join(",", list);
+    /**
+     * @return an immutable snapshot of this task's conditions
+     */
+    public CobblemonTaskModel toModel() {
+        return CobblemonTaskModel.builder()
+                .actions(withoutNulls(actions))
+                .amount(amount)
+                .shiny(shiny)
+                .pokemons(withoutNulls(pokemons))
+                .pokemonTypes(withoutNulls(pokemonTypes))
+                .natures(withoutNulls(natures))
+                .regions(withoutNulls(regions))
+                .genders(withoutNulls(genders))
+                .forms(withoutNulls(forms))
+                .biomes(withoutNulls(biomes))
+                .dimensions(withoutNulls(dimensions))
+                .pokeBallsUsed(withoutNulls(pokeBallsUsed))
+                .timeMin(timeMin)
+                .timeMax(timeMax)
+                .minLevel(minLevel)
+                .maxLevel(maxLevel)
+                .dexProgress(dexProgress)
+                .teraTypes(withoutNulls(teraTypes))
+                .megaForms(withoutNulls(megaForms))
+                .zCrystals(withoutNulls(zCrystals))
+                .dynamaxTypes(withoutNulls(dynamaxTypes))
+                .build();
+    }
+
+    /**
+     * Replaces this task's conditions with the model's. Callers must recompile the filters.
+     *
+     * @param model the conditions to apply
+     */
+    public void applyModel(CobblemonTaskModel model) {
+        amount = model.getAmount();
+        shiny = model.isShiny();
+        timeMin = model.getTimeMin();
+        timeMax = model.getTimeMax();
+        actions = Interner.internList(model.getActions());
+        pokemons = Interner.internList(model.getPokemons());
+        pokemonTypes = Interner.internList(model.getPokemonTypes());
+        natures = Interner.internList(model.getNatures());
+        regions = Interner.internList(model.getRegions());
+        genders = Interner.internList(model.getGenders());
+        forms = Interner.internList(model.getForms());
+        biomes = Interner.internList(model.getBiomes());
+        dimensions = Interner.internList(model.getDimensions());
+        pokeBallsUsed = Interner.internList(model.getPokeBallsUsed());
+        minLevel = model.getMinLevel();
+        maxLevel = model.getMaxLevel();
+        dexProgress = model.getDexProgress();
+        teraTypes = Interner.internList(model.getTeraTypes());
+        megaForms = Interner.internList(model.getMegaForms());
+        zCrystals = Interner.internList(model.getZCrystals());
+        dynamaxTypes = Interner.internList(model.getDynamaxTypes());
+    }
+
+    /**
+     * Replaces every filter list with its shared instance, so identical lists of different tasks
+     * are stored once.
+     */
+    private void internLists() {
+        actions = Interner.internList(actions);
+        biomes = Interner.internList(biomes);
+        dimensions = Interner.internList(dimensions);
+        forms = Interner.internList(forms);
+        genders = Interner.internList(genders);
+        pokeBallsUsed = Interner.internList(pokeBallsUsed);
+        pokemons = Interner.internList(pokemons);
+        pokemonTypes = Interner.internList(pokemonTypes);
+        regions = Interner.internList(regions);
+        natures = Interner.internList(natures);
+        teraTypes = Interner.internList(teraTypes);
+        megaForms = Interner.internList(megaForms);
+        zCrystals = Interner.internList(zCrystals);
+        dynamaxTypes = Interner.internList(dynamaxTypes);
+    }
+
+    /**
+     * Replaces every filter list with a mutable copy. The config screen edits lists in place.
+     */
+    private void copyListsForEditing() {
+        actions = new ArrayList<>(actions);
+        biomes = new ArrayList<>(biomes);
+        dimensions = new ArrayList<>(dimensions);
+        forms = new ArrayList<>(forms);
+        genders = new ArrayList<>(genders);
+        pokeBallsUsed = new ArrayList<>(pokeBallsUsed);
+        pokemons = new ArrayList<>(pokemons);
+        pokemonTypes = new ArrayList<>(pokemonTypes);
+        regions = new ArrayList<>(regions);
+        natures = new ArrayList<>(natures);
+        teraTypes = new ArrayList<>(teraTypes);
+        megaForms = new ArrayList<>(megaForms);
+        zCrystals = new ArrayList<>(zCrystals);
+        dynamaxTypes = new ArrayList<>(dynamaxTypes);
+    }
+
+    private static List<String> withoutNulls(List<String> list) {
+        return list.contains(null) ? list.stream().filter(Objects::nonNull).toList() : list;
+    }
+
+    /**
+     * Compiles the current conditions into the filter pipeline used by {@link #increase}.
+     * Must be called again whenever the condition fields are changed outside of readData/readNetData.
+     */
+    public void compileFilters() {
+        filters = TaskFilters.compile(this);
+    }
+
+    /**
+     * @return the compiled conditions of this task, compiling them first if needed
+     */
+    public TaskFilter[] getFilters() {
+        TaskFilter[] compiled = filters;
+        if (compiled == null) {
+            compiled = TaskFilters.compile(this);
+            filters = compiled;
+        }
+        return compiled;
+    }
+
+    public String writeList(List<String> list) {
+        return CommaLists.join(list);
     }
 
     public ArrayList<String> readList(String s) {
-        return Arrays.stream(s.split(",")).map(String::trim).filter(obj -> !obj.isEmpty() && !obj.contains("choice_any")).distinct().collect(Collectors.toCollection(ArrayList::new));
+        return CommaLists.parse(s);
     }
 
     /**
@@ -258,6 +366,15 @@ public class CobblemonTask extends Task {
     @Override
     @Environment(EnvType.CLIENT)
     public void onEditButtonClicked(Runnable gui) {
+        openEditScreen(gui, toModel(), baseData());
+    }
+
+    /**
+     * Opens the edit screen. The task's state from before the first screen is passed along
+     * when the screen reopens after an action change, so the final diff covers the whole edit.
+     */
+    @Environment(EnvType.CLIENT)
+    private void openEditScreen(Runnable gui, CobblemonTaskModel before, CompoundTag baseBefore) {
         // Create config group with save callback
         // Use short id "task" to keep breadcrumbs short (e.g., "Task → Action" not "cobblemon_quests_extended → Action")
         ConfigGroup group = new ConfigGroup("task", accepted -> {
@@ -269,7 +386,7 @@ public class CobblemonTask extends Task {
 
             // Normal save flow
             if (validateEditedConfig()) {
-                NetworkManager.sendToServer(EditObjectMessage.forQuestObject(this));
+                sendEdit(before, baseBefore);
             }
         }) {
             @Override
@@ -289,14 +406,50 @@ public class CobblemonTask extends Task {
         // Open custom edit screen with dynamic button behavior
         // When actions change, "Accept" becomes "Update Fields" and reopens the screen
         new cobblemonquestsextended.cobblemon_quests_extended.client.gui.CobblemonTaskEditScreen(
-            group, this, () -> onEditButtonClicked(gui)
+            group, this, () -> openEditScreen(gui, before, baseBefore)
         ).openGui();
     }
 
+    /**
+     * Sends only the changed conditions when the common task settings (title, icon, ...) were
+     * left alone, and the whole task otherwise.
+     */
+    @Environment(EnvType.CLIENT)
+    private void sendEdit(CobblemonTaskModel before, CompoundTag baseBefore) {
+        if (!baseData().equals(baseBefore)) {
+            NetworkManager.sendToServer(EditObjectMessage.forQuestObject(this));
+            return;
+        }
+        TaskNetCodec.Patch patch = TaskNetCodec.diff(before, toModel());
+        if (!patch.isEmpty()) {
+            NetworkManager.sendToServer(new EditTaskPatchMessage(id, patch));
+        }
+    }
+
+    /**
+     * @return the settings every FTB Quests task has, without this task's conditions
+     */
+    private CompoundTag baseData() {
+        CompoundTag nbt = new CompoundTag();
+        super.writeData(nbt, getQuestFile().holderLookup());
+        return nbt;
+    }
+
+    /**
+     * Applies an edit received from {@link EditTaskPatchMessage} or its response.
+     *
+     * @param patch the changed conditions
+     */
+    public void applyPatch(TaskNetCodec.Patch patch) {
+        applyModel(patch.applyTo(toModel()));
+        compileFilters();
+    }
+
     @Override
     @Environment(EnvType.CLIENT)
     public void fillConfigGroup(ConfigGroup config) {
         super.fillConfigGroup(config);
+        copyListsForEditing();
 
         // ===== GROUP 1: ACTION (always shown) =====
         ConfigGroup actionGroup = config.getOrCreateSubgroup("action")
@@ -577,185 +730,104 @@ public class CobblemonTask extends Task {
         // give @s cobblemon:pokemon_model[cobblemon:pokemon_item={species:"cobblemon:<pokemon_name>",aspects:[]}]
     }
 
-    public void increase(TeamData teamData, Pokemon pokemon, String executedAction, long progress, ServerPlayer player) {
-        List<String> obtainingMethods = List.of("catch", "evolve-into", "trade_for", "obtain", "revive_fossil");
-        if (actions.contains(executedAction) || (actions.contains("obtain") && obtainingMethods.contains(executedAction))) {
-            if (CobblemonQuestsConfig.ignoredPokemon.contains(pokemon.getSpecies().toString().toLowerCase())) return;
-            Level world = player.level();
-            // Check region
-            if (!regions.isEmpty()) {
-                if (!regions.contains(pokemon.getSpecies().getLabels().toArray()[0].toString())) {
-                    return;
-                }
-            }
-            // Check the time of action
-            if (!(timeMin == 0 && timeMax == 24000)) {
-                long timeOfDay = world.getDayTime() % 24000;
-                long actualMin = timeMin;
-                long actualMax = timeMax;
-                // Adjusts the time to account for the 24000 cycle
-                if (timeMin > timeMax) {
-                    actualMax = timeMax + 24000;
-                    if (timeOfDay < timeMin) {
-                        timeOfDay += 24000;
-                    }
-                }
-                if (timeOfDay < actualMin || timeOfDay >= actualMax) {
-                    return;
-                }
-            }
-
-            if (maxLevel != 0) {
-                if (pokemon.getLevel() > maxLevel || pokemon.getLevel() < minLevel) {
-                    return;
-                }
-            }
-
-            if (!pokeBallsUsed.isEmpty()) {
-                if (!pokeBallsUsed.contains(pokemon.getCaughtBall().getName().toString())) {
-                    return;
-                }
-            }
-            // Check dimension
-            if (!dimensions.isEmpty()) {
-                if (!dimensions.contains(world.dimension().location().toString())) {
-                    return;
-                }
-            }
-            // Check biome
-            if (!biomes.isEmpty()) {
-                if (!biomes.contains(world.getBiome(player.blockPosition()).unwrapKey().get().location().toString())) {
-                    return;
-                }
-            }
-            // Check gender
-            if (!genders.isEmpty()) {
-                if (!genders.contains(pokemon.getGender().toString().toLowerCase())) {
-                    return;
-                }
-            }
-            // Check form
-            if (!forms.isEmpty()) {
-                boolean flag = forms.contains(pokemon.getForm().getName().toLowerCase());
-                for (String aspect : pokemon.getAspects()) {
-                    if (forms.contains(aspect)) {
-                        flag = true;
-                        break;
-                    }
-                }
-                if (!flag) return;
-            }
-
-            // Check type
-            if (!pokemonTypes.isEmpty()) {
-                boolean flag = false;
-                for (ElementalType type : pokemon.getTypes()) {
-                    if (pokemonTypes.contains(type.getName().toLowerCase())) {
-                        flag = true;
-                        break;
-                    }
-                }
-                if (!flag) return;
-            }
-
-            if (!natures.isEmpty()) {
-                if (!natures.contains(pokemon.getNature().getDisplayName())) {
-                    return;
-                }
-            }
-
-            // Check shiny
-            if (!pokemon.getShiny() && shiny) return;
-            boolean shouldAddProgress = pokemons.stream().anyMatch(p -> p.split(":").length > 1 && p.split(":")[1].equals(pokemon.getSpecies().toString())) || pokemons.isEmpty();
-
-            if (shouldAddProgress) {
-                if (executedAction.equals("level_up_to")) {
-                    if (teamData.getProgress(this) < progress) {
-                        teamData.setProgress(this, progress);
-                    }
-                    return;
-                }
-                if (executedAction.equals("register")) {
-                    if (dexProgress.equals("seen")) {
-                        progress = (progress == 1) ? 0 : 1;
-                    } else if (dexProgress.equals("caught")) {
-                        progress = progress != 0 ? 0 : 1;
-                    }
-                }
-                teamData.addProgress(this, progress);
+    /**
+     * Adds progress if the event's conditions match this task. The caller only passes tasks that
+     * {@link cobblemonquestsextended.cobblemon_quests_extended.engine.TaskIndex#candidates} returned for the
+     * action, so the task lists it or an action it implies.
+     *
+     * @param teamData       the team making progress
+     * @param conditions     the condition results of the event, shared by all tasks it is matched against
+     * @param executedAction the fired action id
+     * @param progress       the amount, or the target level for "level_up_to"
+     * @param sink           receives the progress change
+     * @return true if progress was passed to the sink
+     */
+    public boolean increase(TeamData teamData, ConditionNetwork.Evaluation conditions, String executedAction, long progress, ProgressSink sink) {
+        if (conditions.facts().ignored()) return false;
+        if (!conditions.passes(this)) return false;
+        if (executedAction.equals("level_up_to")) {
+            sink.raiseTo(teamData, this, progress);
+            return true;
+        }
+        if (executedAction.equals("register")) {
+            if (dexProgress.equals("seen")) {
+                progress = (progress == 1) ? 0 : 1;
+            } else if (dexProgress.equals("caught")) {
+                progress = progress != 0 ? 0 : 1;
             }
         }
+        sink.add(teamData, this, progress);
+        return true;
     }
 
-    public void increaseHaveRegistered(TeamData teamData, PokedexManager pokedexManager) {
-        if (!this.actions.contains("have_registered")) return;
-        if (teamData.isCompleted(this)) return;
-        long progress = 0;
-        Map<ResourceLocation, SpeciesDexRecord> dexRecords = pokedexManager.getSpeciesRecords();
-        for (ResourceLocation record : dexRecords.keySet()) {
-            SpeciesDexRecord dexRecord = dexRecords.get(record);
-            if (!pokemons.isEmpty() && !pokemons.contains(record.toString())) continue;
-            Set<String> aspects = dexRecord.getAspects();
-            boolean flag = false;
-
-            if (Objects.equals(dexProgress, "caught")) {
-                if (!dexRecord.getKnowledge().equals(PokedexEntryProgress.CAUGHT)) {
-                    continue;
-                }
+    /**
+     * Checks whether a single dex record counts towards this task's have_registered progress.
+     *
+     * @param record    the species id of the dex record
+     * @param dexRecord the player's dex record for that species
+     * @return true if the record satisfies every condition of this task
+     */
+    public boolean matchesDexRecord(ResourceLocation record, SpeciesDexRecord dexRecord) {
+        if (!pokemons.isEmpty() && !pokemons.contains(record.toString())) return false;
+        Set<String> aspects = dexRecord.getAspects();
+        boolean flag = false;
+
+        if (Objects.equals(dexProgress, "caught")) {
+            if (!dexRecord.getKnowledge().equals(PokedexEntryProgress.CAUGHT)) {
+                return false;
             }
+        }
 
-            if (shiny) {
-                if (!aspects.contains("shiny")) continue;
-            }
+        if (shiny) {
+            if (!aspects.contains("shiny")) return false;
+        }
 
-            if (!genders.isEmpty()) {
-                for (String gender : genders) {
-                    if (aspects.contains(gender)) {
-                        flag = true;
-                        break;
-                    }
+        if (!genders.isEmpty()) {
+            for (String gender : genders) {
+                if (aspects.contains(gender)) {
+                    flag = true;
+                    break;
                 }
-                if (!flag) continue;
-                flag = false;
             }
-            if (!forms.isEmpty()) {
-                for (String form : forms) {
-                    if (aspects.contains(form)) {
-                        flag = true;
-                        break;
-                    }
+            if (!flag) return false;
+            flag = false;
+        }
+        if (!forms.isEmpty()) {
+            for (String form : forms) {
+                if (aspects.contains(form)) {
+                    flag = true;
+                    break;
                 }
-                if (!flag) continue;
-                flag = false;
             }
+            if (!flag) return false;
+            flag = false;
+        }
 
-            Species species = PokemonSpecies.getByIdentifier(record);
-            if (species == null) continue;
+        SpeciesTable.Entry species = SpeciesTable.get().byId(record);
+        if (species == null) return false;
 
-            if (!regions.isEmpty()) {
-                if (!regions.contains(species.getLabels().toArray()[0].toString())) {
-                    continue;
-                }
+        if (!regions.isEmpty()) {
+            if (!regions.contains(species.region())) {
+                return false;
             }
+        }
 
-            if (!pokemonTypes.isEmpty()) {
-                for (ElementalType type : species.getTypes()) {
-                    if (pokemonTypes.contains(type.getName().toLowerCase())) {
-                        flag = true;
-                        break;
-                    }
+        if (!pokemonTypes.isEmpty()) {
+            for (String type : species.types()) {
+                if (pokemonTypes.contains(type)) {
+                    flag = true;
+                    break;
                 }
-                if (!flag) continue;
             }
-            progress += 1;
+            return flag;
         }
-        teamData.setProgress(this, progress);
+        return true;
     }
 
     // data is a string that should match an entry in the (comma separated) form field.
-    public void increaseWoPokemon(TeamData teamData, String data, String executedAction, long progress) {
+    public void increaseWoPokemon(TeamData teamData, String data, String executedAction, long progress, ProgressSink sink) {
         if (actions.contains(executedAction) && (forms.contains(data) || forms.isEmpty())) {
-            teamData.addProgress(this, progress);
+            sink.add(teamData, this, progress);
         }
     }
 }
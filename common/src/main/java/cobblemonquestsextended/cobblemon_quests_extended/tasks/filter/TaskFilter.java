@@ -0,0 +1,26 @@
+package cobblemonquestsextended.cobblemon_quests_extended.tasks.filter;
+
+import cobblemonquestsextended.cobblemon_quests_extended.engine.PokemonFacts;
+
+/**
+ * A single compiled condition of a {@link cobblemonquestsextended.cobblemon_quests_extended.tasks.CobblemonTask}.
+ *
+ * <p>Filters are created by {@link TaskFilters#compile} only for the conditions a task actually
+ * uses, and are evaluated in ascending {@link #cost()} order so that cheap, selective checks
+ * reject an event before expensive lookups run.</p>
+ */
+public interface TaskFilter {
+
+    /**
+     * Tests whether the event passes this condition.
+     *
+     * @param facts the facts of the event, shared by all tasks
+     * @return true if the condition is satisfied
+     */
+    boolean test(PokemonFacts facts);
+
+    /**
+     * Relative evaluation cost used to order the filters of a task. Lower runs first.
+     */
+    int cost();
+}
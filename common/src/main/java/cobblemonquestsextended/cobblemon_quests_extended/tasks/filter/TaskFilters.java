@@ -0,0 +1,396 @@
+package cobblemonquestsextended.cobblemon_quests_extended.tasks.filter;
+
+import com.cobblemon.mod.common.pokemon.Gender;
+import cobblemonquestsextended.cobblemon_quests_extended.engine.BitPalette;
+import cobblemonquestsextended.cobblemon_quests_extended.engine.Interner;
+import cobblemonquestsextended.cobblemon_quests_extended.engine.PokemonFacts;
+import cobblemonquestsextended.cobblemon_quests_extended.engine.TimeBuckets;
+import cobblemonquestsextended.cobblemon_quests_extended.tasks.CobblemonTask;
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Compiles the conditions of a {@link CobblemonTask} into an ordered array of {@link TaskFilter}s.
+ *
+ * <p>Empty conditions are dropped entirely. The remaining filters are sorted by cost: primitive
+ * comparisons (shiny, level, gender) come first, then set lookups on Pokemon data, and finally
+ * the world lookups for dimension and biome.</p>
+ *
+ * <p>Closed value sets are compiled to {@link BitPalette} masks and open-ended ones to sorted
+ * {@link Interner} id arrays, so each filter is a single AND or binary search against the
+ * {@link PokemonFacts} of the event. Only if a palette has run out of bits does a filter fall back
+ * to a set lookup.</p>
+ *
+ * <p>Filters have value semantics: two tasks with the same condition compile to equal filters, so
+ * {@link cobblemonquestsextended.cobblemon_quests_extended.engine.ConditionNetwork} can share one
+ * node between them.</p>
+ */
+public final class TaskFilters {
+
+    public static final TaskFilter[] NONE = new TaskFilter[0];
+
+    // Cost ranks, cheapest and most selective first
+    private static final int COST_SHINY = 0;
+    private static final int COST_LEVEL = 1;
+    private static final int COST_GENDER = 2;
+    private static final int COST_SPECIES = 3;
+    private static final int COST_TIME = 4;
+    private static final int COST_NATURE = 5;
+    private static final int COST_DIMENSION = 6;
+    private static final int COST_POKE_BALL = 7;
+    private static final int COST_TYPE = 8;
+    private static final int COST_REGION = 9;
+    private static final int COST_FORM = 10;
+    private static final int COST_BIOME = 11;
+
+    private TaskFilters() {
+        // Utility class
+    }
+
+    /**
+     * Compiles the conditions of the given task.
+     *
+     * @param task the task to compile
+     * @return the filters to evaluate in order; empty if the task has no conditions
+     */
+    public static TaskFilter[] compile(CobblemonTask task) {
+        List<TaskFilter> filters = new ArrayList<>();
+
+        if (task.shiny) {
+            filters.add(ShinyFilter.INSTANCE);
+        }
+        if (task.maxLevel != 0) {
+            filters.add(new LevelFilter(task.minLevel, task.maxLevel));
+        }
+        if (!task.genders.isEmpty()) {
+            filters.add(GenderFilter.of(task.genders));
+        }
+        if (!task.pokemons.isEmpty()) {
+            filters.add(SpeciesFilter.of(task.pokemons));
+        }
+        if (TimeBuckets.isRestricted(task.timeMin, task.timeMax)) {
+            filters.add(TimeFilter.of(task.timeMin, task.timeMax));
+        }
+        if (!task.natures.isEmpty()) {
+            filters.add(BitPalette.NATURES.fits(task.natures)
+                    ? new MaskFilter(BitPalette.NATURES.mask(task.natures), PokemonFacts::natureBit, COST_NATURE)
+                    : new NatureFilter(new HashSet<>(task.natures)));
+        }
+        if (!task.dimensions.isEmpty()) {
+            filters.add(new IdFilter(locationIds(task.dimensions), PokemonFacts::dimensionId, COST_DIMENSION));
+        }
+        if (!task.pokeBallsUsed.isEmpty()) {
+            filters.add(new IdFilter(locationIds(task.pokeBallsUsed), PokemonFacts::caughtBallId, COST_POKE_BALL));
+        }
+        if (!task.pokemonTypes.isEmpty()) {
+            filters.add(BitPalette.TYPES.fits(task.pokemonTypes)
+                    ? new MaskFilter(BitPalette.TYPES.mask(task.pokemonTypes), PokemonFacts::typeMask, COST_TYPE)
+                    : new TypeFilter(new HashSet<>(task.pokemonTypes)));
+        }
+        if (!task.regions.isEmpty()) {
+            filters.add(BitPalette.REGIONS.fits(task.regions)
+                    ? new MaskFilter(BitPalette.REGIONS.mask(task.regions), PokemonFacts::regionBit, COST_REGION)
+                    : new RegionFilter(new HashSet<>(task.regions)));
+        }
+        if (!task.forms.isEmpty()) {
+            filters.add(new FormFilter(Interner.ids(task.forms)));
+        }
+        if (!task.biomes.isEmpty()) {
+            filters.add(new IdFilter(locationIds(task.biomes), PokemonFacts::biomeId, COST_BIOME));
+        }
+
+        if (filters.isEmpty()) {
+            return NONE;
+        }
+        filters.sort(Comparator.comparingInt(TaskFilter::cost));
+        return filters.toArray(NONE);
+    }
+
+    /**
+     * Maps biome, dimension and ball ids to the ids of their {@link ResourceLocation}s, keeping the
+     * exact string matching these fields have always used: an entry only matches if it is written
+     * exactly as the id prints, so "plains" does not match "minecraft:plains". Entries that can never
+     * equal a real id are dropped, which leaves the filter rejecting every event, as before. The
+     * dimension index in {@link cobblemonquestsextended.cobblemon_quests_extended.engine.TaskIndex}
+     * keys on the raw strings and therefore agrees with this.
+     */
+    private static int[] locationIds(List<String> values) {
+        List<ResourceLocation> locations = new ArrayList<>(values.size());
+        for (String value : values) {
+            ResourceLocation location = value != null ? ResourceLocation.tryParse(value) : null;
+            if (location != null && location.toString().equals(value)) {
+                locations.add(location);
+            }
+        }
+        return Interner.ids(locations);
+    }
+
+    // ===== Filters =====
+
+    private record ShinyFilter() implements TaskFilter {
+        static final ShinyFilter INSTANCE = new ShinyFilter();
+
+        @Override
+        public boolean test(PokemonFacts facts) {
+            return facts.shiny();
+        }
+
+        @Override
+        public int cost() {
+            return COST_SHINY;
+        }
+    }
+
+    private record LevelFilter(int minLevel, int maxLevel) implements TaskFilter {
+        @Override
+        public boolean test(PokemonFacts facts) {
+            int level = facts.level();
+            return level >= minLevel && level <= maxLevel;
+        }
+
+        @Override
+        public int cost() {
+            return COST_LEVEL;
+        }
+    }
+
+    private record GenderFilter(long mask) implements TaskFilter {
+        static GenderFilter of(List<String> genders) {
+            long mask = 0L;
+            for (Gender gender : Gender.values()) {
+                if (genders.contains(gender.toString().toLowerCase())) {
+                    mask |= 1L << gender.ordinal();
+                }
+            }
+            return new GenderFilter(mask);
+        }
+
+        @Override
+        public boolean test(PokemonFacts facts) {
+            return (mask & (1L << facts.gender().ordinal())) != 0L;
+        }
+
+        @Override
+        public int cost() {
+            return COST_GENDER;
+        }
+    }
+
+    private record SpeciesFilter(Set<String> species) implements TaskFilter {
+        static SpeciesFilter of(List<String> pokemons) {
+            // Only namespaced entries ever matched; the path is compared against the species name
+            Set<String> species = new HashSet<>();
+            for (String pokemon : pokemons) {
+                String[] parts = pokemon.split(":");
+                if (parts.length > 1) {
+                    species.add(parts[1]);
+                }
+            }
+            return new SpeciesFilter(species);
+        }
+
+        @Override
+        public boolean test(PokemonFacts facts) {
+            return species.contains(facts.species());
+        }
+
+        @Override
+        public int cost() {
+            return COST_SPECIES;
+        }
+    }
+
+    /**
+     * Answers from the {@link TimeBuckets} masks and only compares ticks in the buckets holding
+     * the window's edges.
+     */
+    private record TimeFilter(long timeMin, long timeMax, boolean wraps, int full, int partial) implements TaskFilter {
+        static TimeFilter of(long timeMin, long timeMax) {
+            int full = TimeBuckets.fullMask(timeMin, timeMax);
+            int partial = TimeBuckets.overlapMask(timeMin, timeMax) & ~full;
+            // Adjusts the window to account for the 24000 cycle
+            boolean wraps = timeMin > timeMax;
+            return new TimeFilter(timeMin, wraps ? timeMax + 24000 : timeMax, wraps, full, partial);
+        }
+
+        @Override
+        public boolean test(PokemonFacts facts) {
+            long timeOfDay = facts.timeOfDay();
+            int bucket = 1 << TimeBuckets.bucket(timeOfDay);
+            if ((full & bucket) != 0) {
+                return true;
+            }
+            if ((partial & bucket) == 0) {
+                return false;
+            }
+            if (wraps && timeOfDay < timeMin) {
+                timeOfDay += 24000;
+            }
+            return timeOfDay >= timeMin && timeOfDay < timeMax;
+        }
+
+        @Override
+        public int cost() {
+            return COST_TIME;
+        }
+    }
+
+    /**
+     * Matches when any bit of the event's palette mask is accepted. The cost rank identifies the
+     * field the mask applies to, so it takes part in equality instead of the accessor.
+     */
+    private static final class MaskFilter implements TaskFilter {
+        private final long mask;
+        private final ToLongFunction<PokemonFacts> bits;
+        private final int cost;
+
+        MaskFilter(long mask, ToLongFunction<PokemonFacts> bits, int cost) {
+            this.mask = mask;
+            this.bits = bits;
+            this.cost = cost;
+        }
+
+        @Override
+        public boolean test(PokemonFacts facts) {
+            return (mask & bits.applyAsLong(facts)) != 0L;
+        }
+
+        @Override
+        public int cost() {
+            return cost;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof MaskFilter other && mask == other.mask && cost == other.cost;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(mask) * 31 + cost;
+        }
+    }
+
+    /**
+     * Matches when the event's interned id is one of the accepted ids. As with {@link MaskFilter},
+     * the cost rank identifies the field.
+     */
+    private static final class IdFilter implements TaskFilter {
+        private final int[] ids;
+        private final ToIntFunction<PokemonFacts> id;
+        private final int cost;
+
+        IdFilter(int[] ids, ToIntFunction<PokemonFacts> id, int cost) {
+            this.ids = ids;
+            this.id = id;
+            this.cost = cost;
+        }
+
+        @Override
+        public boolean test(PokemonFacts facts) {
+            return Arrays.binarySearch(ids, id.applyAsInt(facts)) >= 0;
+        }
+
+        @Override
+        public int cost() {
+            return cost;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof IdFilter other && cost == other.cost && Arrays.equals(ids, other.ids);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(ids) * 31 + cost;
+        }
+    }
+
+    private static final class FormFilter implements TaskFilter {
+        private final int[] forms;
+
+        FormFilter(int[] forms) {
+            this.forms = forms;
+        }
+
+        @Override
+        public boolean test(PokemonFacts facts) {
+            if (Arrays.binarySearch(forms, facts.formId()) >= 0) {
+                return true;
+            }
+            for (int aspect : facts.aspectIds()) {
+                if (Arrays.binarySearch(forms, aspect) >= 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public int cost() {
+            return COST_FORM;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof FormFilter other && Arrays.equals(forms, other.forms);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(forms);
+        }
+    }
+
+    // ===== Set fallbacks for values beyond a palette's capacity =====
+
+    private record NatureFilter(Set<String> natures) implements TaskFilter {
+        @Override
+        public boolean test(PokemonFacts facts) {
+            return natures.contains(facts.nature());
+        }
+
+        @Override
+        public int cost() {
+            return COST_NATURE;
+        }
+    }
+
+    private record TypeFilter(Set<String> types) implements TaskFilter {
+        @Override
+        public boolean test(PokemonFacts facts) {
+            for (String type : facts.types()) {
+                if (types.contains(type)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public int cost() {
+            return COST_TYPE;
+        }
+    }
+
+    private record RegionFilter(Set<String> regions) implements TaskFilter {
+        @Override
+        public boolean test(PokemonFacts facts) {
+            return regions.contains(facts.region());
+        }
+
+        @Override
+        public int cost() {
+            return COST_REGION;
+        }
+    }
+}
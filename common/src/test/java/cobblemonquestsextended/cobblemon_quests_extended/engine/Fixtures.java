@@ -0,0 +1,91 @@
+package cobblemonquestsextended.cobblemon_quests_extended.engine;
+
+import com.cobblemon.mod.common.pokemon.Gender;
+import cobblemonquestsextended.cobblemon_quests_extended.tasks.CobblemonTask;
+import dev.ftb.mods.ftbquests.quest.QuestObjectBase;
+import net.minecraft.resources.ResourceLocation;
+import org.mockito.Mockito;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tasks and event facts for engine tests, built without a running game.
+ */
+final class Fixtures {
+
+    private static final AtomicLong NEXT_ID = new AtomicLong(1L);
+
+    private Fixtures() {
+        // Utility class
+    }
+
+    /**
+     * Creates a task with the given actions and no conditions. The task runs its real matching
+     * code, but skips the constructor, which needs Cobblemon's registries for the task icon.
+     */
+    static CobblemonTask task(String... actions) {
+        CobblemonTask task = Mockito.mock(CobblemonTask.class, Mockito.withSettings().defaultAnswer(Mockito.CALLS_REAL_METHODS));
+        setId(task, NEXT_ID.getAndIncrement());
+        task.amount = 1L;
+        task.timeMin = 0L;
+        task.timeMax = 24000L;
+        task.dexProgress = "seen";
+        task.actions = List.of(actions);
+        task.biomes = List.of();
+        task.dimensions = List.of();
+        task.forms = List.of();
+        task.genders = List.of();
+        task.pokeBallsUsed = List.of();
+        task.pokemons = List.of();
+        task.pokemonTypes = List.of();
+        task.regions = List.of();
+        task.natures = List.of();
+        task.teraTypes = List.of();
+        task.megaForms = List.of();
+        task.zCrystals = List.of();
+        task.dynamaxTypes = List.of();
+        return task;
+    }
+
+    /**
+     * Creates the facts of an event for a Pokemon with the given traits.
+     */
+    static PokemonFacts facts(String species, String dimension, List<String> types, int level, boolean shiny, long timeOfDay) {
+        ResourceLocation dimensionId = ResourceLocation.parse(dimension);
+        return new PokemonFacts(
+                null,
+                null,
+                Interner.intern(species),
+                false,
+                types.toArray(new String[0]),
+                BitPalette.TYPES.mask(types),
+                Gender.MALE,
+                "",
+                0L,
+                "gen1",
+                BitPalette.REGIONS.bit("gen1"),
+                Interner.id("normal"),
+                new int[0],
+                Interner.NO_ID,
+                level,
+                shiny,
+                dimensionId,
+                Interner.id(dimensionId),
+                Interner.NO_ID,
+                timeOfDay
+        );
+    }
+
+    private static void setId(CobblemonTask task, long id) {
+        try {
+            // Quest objects compare by id, so every task needs its own
+            Field field = QuestObjectBase.class.getDeclaredField("id");
+            field.setAccessible(true);
+            field.set(task, id);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
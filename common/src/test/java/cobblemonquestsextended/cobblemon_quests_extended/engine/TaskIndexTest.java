@@ -0,0 +1,134 @@
+package cobblemonquestsextended.cobblemon_quests_extended.engine;
+
+import cobblemonquestsextended.cobblemon_quests_extended.registry.ActionRegistry;
+import cobblemonquestsextended.cobblemon_quests_extended.tasks.CobblemonTask;
+import cobblemonquestsextended.cobblemon_quests_extended.tasks.filter.TaskFilter;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the index never changes which tasks match an event: filtering its candidates must
+ * give the same tasks as testing every task of the file.
+ */
+class TaskIndexTest {
+
+    private static final List<String> ACTIONS = List.of("catch", "obtain", "defeat", "evolve_into", "trade_for");
+    private static final List<String> SPECIES = List.of("pikachu", "zubat", "eevee", "charmander");
+    private static final List<String> POKEMONS = List.of("cobblemon:pikachu", "cobblemon:zubat", "cobblemon:eevee", "pikachu");
+    private static final List<String> DIMENSIONS = List.of("minecraft:overworld", "minecraft:the_nether", "minecraft:the_end");
+    private static final List<String> TYPES = List.of("fire", "water", "electric", "normal");
+
+    @Test
+    void candidatesMatchLinearScan() {
+        checkAgainstLinearScan(false);
+    }
+
+    @Test
+    void columnarCandidatesMatchLinearScan() {
+        checkAgainstLinearScan(true);
+    }
+
+    private static void checkAgainstLinearScan(boolean columnar) {
+        Random random = new Random(20);
+        for (int round = 0; round < 20; round++) {
+            List<CobblemonTask> tasks = new ArrayList<>();
+            for (int i = 0; i < 150; i++) {
+                tasks.add(randomTask(random));
+            }
+            TaskIndex index = TaskIndex.build(tasks, columnar);
+            for (int event = 0; event < 300; event++) {
+                String action = pick(random, ACTIONS);
+                PokemonFacts facts = Fixtures.facts(pick(random, SPECIES), pick(random, DIMENSIONS),
+                        subset(random, TYPES, 2), 1 + random.nextInt(100), random.nextInt(8) == 0, random.nextInt(24000));
+
+                CobblemonTask[] candidates = index.candidates(action, facts);
+                Set<CobblemonTask> distinct = identitySet();
+                Collections.addAll(distinct, candidates);
+                assertEquals(candidates.length, distinct.size(), "a task was returned twice");
+
+                Set<CobblemonTask> expected = identitySet();
+                for (CobblemonTask task : tasks) {
+                    if (listsAction(task, action) && passes(task, facts)) {
+                        expected.add(task);
+                    }
+                }
+                Set<CobblemonTask> actual = identitySet();
+                for (CobblemonTask task : candidates) {
+                    assertTrue(listsAction(task, action), "candidate does not list the action");
+                    if (passes(task, facts)) {
+                        actual.add(task);
+                    }
+                }
+                assertEquals(expected, actual, "action " + action + ", species " + facts.species());
+            }
+        }
+    }
+
+    private static CobblemonTask randomTask(Random random) {
+        CobblemonTask task = Fixtures.task(subset(random, ACTIONS, 2).toArray(new String[0]));
+        if (random.nextInt(2) == 0) task.pokemons = subset(random, POKEMONS, 2);
+        if (random.nextInt(3) == 0) task.dimensions = subset(random, DIMENSIONS, 2);
+        if (random.nextInt(3) == 0) task.pokemonTypes = subset(random, TYPES, 2);
+        if (random.nextInt(4) == 0) task.shiny = true;
+        if (random.nextInt(4) == 0) {
+            task.minLevel = random.nextInt(50);
+            task.maxLevel = task.minLevel + random.nextInt(50);
+        }
+        if (random.nextInt(3) == 0) {
+            // Includes windows that wrap around midnight
+            task.timeMin = random.nextInt(24000);
+            task.timeMax = random.nextInt(24001);
+        }
+        return task;
+    }
+
+    private static boolean listsAction(CobblemonTask task, String action) {
+        if (task.actions.contains(action)) {
+            return true;
+        }
+        for (String implied : ActionRegistry.getImpliedActions(action)) {
+            if (task.actions.contains(implied)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean passes(CobblemonTask task, PokemonFacts facts) {
+        for (TaskFilter filter : task.getFilters()) {
+            if (!filter.test(facts)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static <T> T pick(Random random, List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static List<String> subset(Random random, List<String> values, int max) {
+        List<String> result = new ArrayList<>();
+        int size = 1 + random.nextInt(max);
+        while (result.size() < size) {
+            String value = pick(random, values);
+            if (!result.contains(value)) {
+                result.add(value);
+            }
+        }
+        return List.copyOf(result);
+    }
+
+    private static Set<CobblemonTask> identitySet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+}
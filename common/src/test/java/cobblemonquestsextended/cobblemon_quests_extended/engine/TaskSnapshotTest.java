@@ -0,0 +1,76 @@
+package cobblemonquestsextended.cobblemon_quests_extended.engine;
+
+import cobblemonquestsextended.cobblemon_quests_extended.tasks.CobblemonTask;
+import dev.ftb.mods.ftbquests.quest.TeamData;
+import org.junit.jupiter.api.Test;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TaskSnapshotTest {
+
+    private static final PokemonFacts EEVEE = Fixtures.facts("eevee", "minecraft:overworld", List.of("normal"), 20, false, 1000);
+
+    @Test
+    void evolutionAdvancesObtainTaskOnce() {
+        CobblemonTask obtain = Fixtures.task("obtain");
+        CobblemonTask obtainOrCatch = Fixtures.task("catch", "obtain");
+        CountingSink sink = evolve(obtain, obtainOrCatch);
+        assertEquals(1L, sink.progress(obtain));
+        assertEquals(1L, sink.progress(obtainOrCatch));
+    }
+
+    @Test
+    void evolutionStillCountsEveryListedAction() {
+        CobblemonTask task = Fixtures.task("evolve_into", "catch");
+        assertEquals(2L, evolve(task).progress(task));
+    }
+
+    @Test
+    void separateEventsAreNotDeduplicated() {
+        CobblemonTask obtain = Fixtures.task("obtain");
+        TaskSnapshot snapshot = TaskSnapshot.build(List.of(obtain));
+        CountingSink sink = new CountingSink();
+        snapshot.match(null, EEVEE, "evolve_into", 1, task -> true, null, sink);
+        snapshot.match(null, EEVEE, "catch", 1, task -> true, null, sink);
+        assertEquals(2L, sink.progress(obtain));
+    }
+
+    /**
+     * Matches the actions an evolution fires, as one batch for the same Pokemon.
+     */
+    private static CountingSink evolve(CobblemonTask... tasks) {
+        TaskSnapshot snapshot = TaskSnapshot.build(List.of(tasks));
+        CountingSink sink = new CountingSink();
+        Map<CobblemonTask, Boolean> credited = new IdentityHashMap<>();
+        snapshot.match(null, EEVEE, "evolve_into", 1, task -> true, credited, sink);
+        snapshot.match(null, EEVEE, "catch", 1, task -> true, credited, sink);
+        return sink;
+    }
+
+    private static final class CountingSink implements ProgressSink {
+        private final Map<CobblemonTask, Long> progress = new IdentityHashMap<>();
+
+        long progress(CobblemonTask task) {
+            return progress.getOrDefault(task, 0L);
+        }
+
+        @Override
+        public void add(TeamData teamData, CobblemonTask task, long delta) {
+            progress.merge(task, delta, Long::sum);
+        }
+
+        @Override
+        public void raiseTo(TeamData teamData, CobblemonTask task, long value) {
+            progress.merge(task, value, Math::max);
+        }
+
+        @Override
+        public void set(TeamData teamData, CobblemonTask task, long value) {
+            progress.put(task, value);
+        }
+    }
+}
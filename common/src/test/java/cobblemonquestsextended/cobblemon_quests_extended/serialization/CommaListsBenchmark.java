@@ -0,0 +1,62 @@
+package cobblemonquestsextended.cobblemon_quests_extended.serialization;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Compares {@link CommaLists} with the stream-based code it replaced. Run with
+ * {@code ./gradlew :common:commaListsBenchmark}.
+ *
+ * <p>Each case is warmed up and then timed over a fixed number of calls on one thread, reporting
+ * the mean time and the bytes allocated per call. This is a plain loop rather than JMH, so treat
+ * the timings as rough (they vary by about a third between rounds); the allocation figures are
+ * exact for the measured thread.</p>
+ */
+public final class CommaListsBenchmark {
+
+    private static final int WARMUP = 200_000;
+    private static final int OPERATIONS = 2_000_000;
+    private static final int ROUNDS = 3;
+
+    private static final String BIOMES = "minecraft:plains, minecraft:forest, minecraft:taiga, minecraft:savanna, "
+            + "minecraft:desert, minecraft:jungle, cobblemon:is_arid, minecraft:swamp, minecraft:beach, minecraft:river, "
+            + "minecraft:ocean, minecraft:badlands";
+    private static final String ACTION = "catch";
+
+    // Keeps results reachable so the calls are not optimized away
+    private static Object sink;
+
+    private CommaListsBenchmark() {
+        // Utility class
+    }
+
+    public static void main(String[] args) {
+        List<String> biomes = CommaLists.parse(BIOMES);
+        for (int round = 1; round <= ROUNDS; round++) {
+            System.out.println("Round " + round);
+            run("parse 12 biomes, legacy", () -> LegacyCommaLists.parse(BIOMES));
+            run("parse 12 biomes", () -> CommaLists.parse(BIOMES));
+            run("parse 1 action, legacy", () -> LegacyCommaLists.parse(ACTION));
+            run("parse 1 action", () -> CommaLists.parse(ACTION));
+            run("join 12 biomes, legacy", () -> LegacyCommaLists.join(biomes));
+            run("join 12 biomes", () -> CommaLists.join(biomes));
+        }
+    }
+
+    private static void run(String name, Supplier<Object> operation) {
+        for (int i = 0; i < WARMUP; i++) {
+            sink = operation.get();
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long bytesBefore = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < OPERATIONS; i++) {
+            sink = operation.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        long bytes = threads.getThreadAllocatedBytes(thread) - bytesBefore;
+        System.out.printf("  %-26s %8.1f ns/op %7d B/op%n", name, (double) elapsed / OPERATIONS, bytes / OPERATIONS);
+    }
+}
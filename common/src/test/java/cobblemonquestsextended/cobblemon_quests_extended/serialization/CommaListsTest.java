@@ -0,0 +1,50 @@
+package cobblemonquestsextended.cobblemon_quests_extended.serialization;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CommaListsTest {
+
+    @Test
+    void parseMatchesLegacy() {
+        String[] inputs = {
+                "", " ", "a", ",,,", "a,b,", " a , b ,a,,c ", "a,\tb\n,a",
+                "choice_any,x", "x choice_any y,z", "choice_any_pokemon",
+                "cobblemon:pikachu, cobblemon:zubat,choice_any_pokemon , cobblemon:pikachu",
+                "Aa,BB,Aa", "pikachu,pikachu ,  pikachu"
+        };
+        for (String input : inputs) {
+            assertEquals(LegacyCommaLists.parse(input), CommaLists.parse(input), "[" + input + "]");
+        }
+    }
+
+    @Test
+    void joinMatchesLegacy() {
+        List<List<String>> inputs = List.of(
+                List.of(),
+                List.of("a"),
+                Arrays.asList("a", null, "b"),
+                Arrays.asList(null, "", null, "c"),
+                List.of("x", "y", "z")
+        );
+        for (List<String> input : inputs) {
+            List<String> before = new ArrayList<>(input);
+            assertEquals(LegacyCommaLists.join(input), CommaLists.join(input), input.toString());
+            assertEquals(before, input);
+        }
+    }
+
+    @Test
+    void addDistinctFollowsParse() {
+        List<String> values = new ArrayList<>();
+        for (String value : new String[]{" a ", "", "choice_any", "b", "a"}) {
+            CommaLists.addDistinct(values, value);
+        }
+        assertEquals(CommaLists.parse(" a ,,choice_any,b,a"), values);
+    }
+}
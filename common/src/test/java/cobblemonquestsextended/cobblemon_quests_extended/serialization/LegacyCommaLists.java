@@ -0,0 +1,35 @@
+package cobblemonquestsextended.cobblemon_quests_extended.serialization;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * The stream-based list handling that {@link CommaLists} replaced, kept as the reference for
+ * its tests and benchmark.
+ */
+final class LegacyCommaLists {
+
+    private LegacyCommaLists() {
+        // Utility class
+    }
+
+    static ArrayList<String> parse(String s) {
+        if (s == null || s.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return Arrays.stream(s.split(","))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty() && !value.contains("choice_any"))
+                .distinct()
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    static String join(List<String> values) {
+        List<String> copy = new ArrayList<>(values);
+        copy.removeIf(Objects::isNull);
+        return String.join(",", copy);
+    }
+}
@@ -0,0 +1,156 @@
+package cobblemonquestsextended.cobblemon_quests_extended.serialization;
+
+import cobblemonquestsextended.cobblemon_quests_extended.model.CobblemonTaskModel;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.DecoderException;
+import net.minecraft.network.FriendlyByteBuf;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskNetCodecTest {
+
+    private static final CobblemonTaskModel FULL = CobblemonTaskModel.builder()
+            .actions(List.of("catch", "defeat", "custom_action"))
+            .amount(12)
+            .shiny(true)
+            .pokemons(List.of("cobblemon:pikachu", "cobblemon:eevee", "othermod:pikachu", "pikachu"))
+            .pokemonTypes(List.of("fire", "water"))
+            .natures(List.of("cobblemon:adamant"))
+            .regions(List.of("gen1"))
+            .genders(List.of("male"))
+            .forms(List.of("alolan", "some-custom-form"))
+            .biomes(List.of("minecraft:plains", "terralith:moonlight_grove", "#minecraft:is_forest"))
+            .dimensions(List.of("minecraft:the_nether", "othermod:sky"))
+            .pokeBallsUsed(List.of("cobblemon:ultra_ball"))
+            .timeMin(22000)
+            .timeMax(2000)
+            .minLevel(5)
+            .maxLevel(50)
+            .dexProgress("caught")
+            .teraTypes(List.of("stellar"))
+            .megaForms(List.of("mega_x"))
+            .zCrystals(List.of("firium_z"))
+            .dynamaxTypes(List.of("gmax"))
+            .build();
+
+    @Test
+    void roundTripsDefaults() {
+        CobblemonTaskModel defaults = CobblemonTaskModel.builder().build();
+        assertEquals(defaults, roundTrip(defaults));
+    }
+
+    @Test
+    void roundTripsEveryField() {
+        assertEquals(FULL, roundTrip(FULL));
+    }
+
+    @Test
+    void syncsEveryListField() throws ReflectiveOperationException {
+        // Catches a list added to the model but not to the codec's LIST_SETTERS and lists()
+        CobblemonTaskModel.Builder builder = CobblemonTaskModel.builder();
+        int count = 0;
+        for (Method setter : CobblemonTaskModel.Builder.class.getMethods()) {
+            if (setter.getParameterCount() == 1 && setter.getParameterTypes()[0] == List.class) {
+                setter.invoke(builder, List.of("value_of_" + setter.getName()));
+                count++;
+            }
+        }
+        assertTrue(count > 0);
+        CobblemonTaskModel model = builder.build();
+        assertEquals(model, roundTrip(model));
+    }
+
+    @Test
+    void roundTripsPatches() {
+        CobblemonTaskModel base = CobblemonTaskModel.builder().actions(List.of("catch")).amount(3).shiny(true).build();
+        TaskNetCodec.Patch patch = TaskNetCodec.diff(base, FULL);
+        assertFalse(patch.isEmpty());
+
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        TaskNetCodec.Patch.STREAM_CODEC.encode(buf, patch);
+        TaskNetCodec.Patch decoded = TaskNetCodec.Patch.STREAM_CODEC.decode(buf);
+        assertEquals(0, buf.readableBytes());
+        assertEquals(FULL, decoded.applyTo(base));
+
+        CobblemonTaskModel unshiny = FULL.toBuilder().shiny(false).build();
+        assertEquals(unshiny, TaskNetCodec.diff(FULL, unshiny).applyTo(FULL));
+        assertTrue(TaskNetCodec.diff(FULL, FULL).isEmpty());
+    }
+
+    @Test
+    void rejectsOtherPalette() {
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        TaskNetCodec.STREAM_CODEC.encode(buf, FULL);
+        corruptChecksum(buf);
+        assertThrows(DecoderException.class, () -> TaskNetCodec.STREAM_CODEC.decode(buf));
+
+        FriendlyByteBuf patchBuf = new FriendlyByteBuf(Unpooled.buffer());
+        TaskNetCodec.Patch.STREAM_CODEC.encode(patchBuf, TaskNetCodec.diff(CobblemonTaskModel.builder().build(), FULL));
+        corruptChecksum(patchBuf);
+        assertThrows(DecoderException.class, () -> TaskNetCodec.Patch.STREAM_CODEC.decode(patchBuf));
+    }
+
+    @Test
+    void rejectsMalformedPatches() {
+        // Header with only the action list set, holding one value
+        int actions = 1 << 5;
+        assertMalformed(buf -> {
+            buf.writeVarInt(actions);
+            buf.writeVarInt(1);
+            // NAMESPACED over and over used to recurse until the stack overflowed
+            for (int i = 0; i < 100_000; i++) {
+                buf.writeByte(0x01);
+            }
+        });
+        assertMalformed(buf -> {
+            buf.writeVarInt(actions);
+            buf.writeVarInt(1);
+            buf.writeVarInt(1_000_000);
+        });
+        assertMalformed(buf -> {
+            buf.writeVarInt(actions);
+            buf.writeVarInt(1);
+            buf.writeVarInt(-1);
+        });
+        assertMalformed(buf -> {
+            buf.writeVarInt(actions);
+            buf.writeVarInt(Integer.MAX_VALUE);
+            buf.writeVarInt(2);
+        });
+        assertMalformed(buf -> buf.writeVarInt(1 << 30));
+    }
+
+    private static void assertMalformed(Consumer<FriendlyByteBuf> body) {
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        buf.writeInt(paletteChecksum());
+        body.accept(buf);
+        assertThrows(DecoderException.class, () -> TaskNetCodec.Patch.STREAM_CODEC.decode(buf));
+    }
+
+    private static int paletteChecksum() {
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        TaskNetCodec.Patch.STREAM_CODEC.encode(buf, TaskNetCodec.diff(FULL, FULL));
+        return buf.getInt(0);
+    }
+
+    private static CobblemonTaskModel roundTrip(CobblemonTaskModel model) {
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        TaskNetCodec.STREAM_CODEC.encode(buf, model);
+        CobblemonTaskModel decoded = TaskNetCodec.STREAM_CODEC.decode(buf);
+        assertEquals(0, buf.readableBytes());
+        return decoded;
+    }
+
+    private static void corruptChecksum(FriendlyByteBuf buf) {
+        // The checksum is the first int of the encoding
+        buf.setInt(0, buf.getInt(0) + 1);
+    }
+}